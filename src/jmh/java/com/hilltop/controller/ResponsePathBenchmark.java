@@ -0,0 +1,131 @@
+package com.hilltop.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hilltop.cache.HotelJsonFragmentCache;
+import com.hilltop.configuration.ResourceBundleMessageSourceBean;
+import com.hilltop.configuration.Translator;
+import com.hilltop.domain.json.HotelJsonFragmentModule;
+import com.hilltop.domain.request.HotelCreateRequestDto;
+import com.hilltop.domain.response.HotelListPageResponseDto;
+import com.hilltop.domain.response.HotelResponseDto;
+import com.hilltop.enums.ErrorResponseStatusType;
+import com.hilltop.enums.SuccessResponseStatusType;
+import com.hilltop.model.Hotel;
+import com.hilltop.wrapper.ResponseWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the controller to DTO response path.
+ * The page benchmarks use a full page of PAGE_MAX_SIZE hotels and the object mapper Spring MVC would build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponsePathBenchmark {
+
+    private static final int TOTAL_HOTELS = 10_000;
+
+    private Controller controller;
+    private ObjectMapper objectMapper;
+    private ObjectMapper fragmentObjectMapper;
+    private Hotel hotel;
+    private Page<Hotel> hotelPage;
+    private HotelListPageResponseDto hotelListPageResponseDto;
+
+    @Setup
+    public void setUp() {
+        controller = new Controller(new Translator(new ResourceBundleMessageSourceBean().messageSource(),
+                List.of(Locale.ENGLISH)));
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        fragmentObjectMapper = Jackson2ObjectMapperBuilder.json()
+                .modules(new HotelJsonFragmentModule(new HotelJsonFragmentCache(DataSize.ofMegabytes(32)))).build();
+        hotel = getHotel(0);
+        List<Hotel> hotels = new ArrayList<>(Controller.PAGE_MAX_SIZE);
+        for (int i = 0; i < Controller.PAGE_MAX_SIZE; i++) {
+            hotels.add(getHotel(i));
+        }
+        hotelPage = new PageImpl<>(hotels, PageRequest.of(0, Controller.PAGE_MAX_SIZE), TOTAL_HOTELS);
+        hotelListPageResponseDto = new HotelListPageResponseDto(hotelPage);
+    }
+
+    @Benchmark
+    public HotelResponseDto hotelResponseDto() {
+        return new HotelResponseDto(hotel);
+    }
+
+    @Benchmark
+    public HotelListPageResponseDto hotelListPageResponseDto() {
+        return new HotelListPageResponseDto(hotelPage);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper> getSuccessResponse() {
+        return controller.getSuccessResponse(new HotelResponseDto(hotel), SuccessResponseStatusType.READ_HOTEL,
+                HttpStatus.OK);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper> getErrorResponse() {
+        return controller.getErrorResponse(ErrorResponseStatusType.INVALID_HOTEL_ID);
+    }
+
+    @Benchmark
+    public String hotelResponseDtoToJson() {
+        return new HotelResponseDto(hotel).toJson();
+    }
+
+    @Benchmark
+    public byte[] serializeHotelPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(controller.getSuccessResponse(hotelListPageResponseDto,
+                SuccessResponseStatusType.READ_HOTEL_LIST, HttpStatus.OK).getBody());
+    }
+
+    @Benchmark
+    public byte[] serializeHotelPageFromFragments() throws JsonProcessingException {
+        return fragmentObjectMapper.writeValueAsBytes(controller.getSuccessResponse(hotelListPageResponseDto,
+                SuccessResponseStatusType.READ_HOTEL_LIST, HttpStatus.OK).getBody());
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeHotelPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(controller.getSuccessResponse(new HotelListPageResponseDto(hotelPage),
+                SuccessResponseStatusType.READ_HOTEL_LIST, HttpStatus.OK).getBody());
+    }
+
+    private Hotel getHotel(int index) {
+        var hotelCreateRequestDto = new HotelCreateRequestDto();
+        hotelCreateRequestDto.setName("Hotel " + index);
+        hotelCreateRequestDto.setDescription("3-Star hotel with a sea view and a rooftop pool.");
+        hotelCreateRequestDto.setCity("Colombo");
+        hotelCreateRequestDto.setAddress("Galle Rd, Colombo.");
+        hotelCreateRequestDto.setTelephone("011215487");
+        hotelCreateRequestDto.setEmail("info@hilton.com");
+        hotelCreateRequestDto.setImageUrl(List.of("https://img/" + index + "/1.jpg", "https://img/" + index + "/2.jpg"));
+        return new Hotel(hotelCreateRequestDto);
+    }
+}
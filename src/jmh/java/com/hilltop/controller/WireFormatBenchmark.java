@@ -0,0 +1,126 @@
+package com.hilltop.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hilltop.configuration.ResourceBundleMessageSourceBean;
+import com.hilltop.configuration.Translator;
+import com.hilltop.domain.request.HotelCreateRequestDto;
+import com.hilltop.domain.response.HotelListPageResponseDto;
+import com.hilltop.domain.response.HotelResponseDto;
+import com.hilltop.enums.SuccessResponseStatusType;
+import com.hilltop.model.Hotel;
+import com.hilltop.wrapper.ResponseWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the wire formats a response can be negotiated to, with the object mappers Spring MVC would build.
+ * Encoding writes the response wrapper of a single hotel and of a full page of PAGE_MAX_SIZE hotels, decoding
+ * reads them back into a tree as a client without the hotel classes would. Payload sizes are printed on setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int TOTAL_HOTELS = 10_000;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private ResponseWrapper hotelResponse;
+    private ResponseWrapper hotelPageResponse;
+    private byte[] hotelPayload;
+    private byte[] hotelPagePayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(getJsonFactory(format)).build();
+        var controller = new Controller(new Translator(new ResourceBundleMessageSourceBean().messageSource(),
+                List.of(Locale.ENGLISH)));
+        List<Hotel> hotels = new ArrayList<>(Controller.PAGE_MAX_SIZE);
+        for (int i = 0; i < Controller.PAGE_MAX_SIZE; i++) {
+            hotels.add(getHotel(i));
+        }
+        hotelResponse = controller.getSuccessResponse(new HotelResponseDto(hotels.get(0)),
+                SuccessResponseStatusType.READ_HOTEL, HttpStatus.OK).getBody();
+        hotelPageResponse = controller.getSuccessResponse(new HotelListPageResponseDto(new PageImpl<>(hotels,
+                PageRequest.of(0, Controller.PAGE_MAX_SIZE), TOTAL_HOTELS)),
+                SuccessResponseStatusType.READ_HOTEL_LIST, HttpStatus.OK).getBody();
+        hotelPayload = objectMapper.writeValueAsBytes(hotelResponse);
+        hotelPagePayload = objectMapper.writeValueAsBytes(hotelPageResponse);
+        System.out.printf("%n%s payload: hotel %d bytes, page %d bytes%n", format, hotelPayload.length,
+                hotelPagePayload.length);
+    }
+
+    @Benchmark
+    public byte[] encodeHotel() throws IOException {
+        return objectMapper.writeValueAsBytes(hotelResponse);
+    }
+
+    @Benchmark
+    public byte[] encodeHotelPage() throws IOException {
+        return objectMapper.writeValueAsBytes(hotelPageResponse);
+    }
+
+    @Benchmark
+    public JsonNode decodeHotel() throws IOException {
+        return objectMapper.readTree(hotelPayload);
+    }
+
+    @Benchmark
+    public JsonNode decodeHotelPage() throws IOException {
+        return objectMapper.readTree(hotelPagePayload);
+    }
+
+    private static JsonFactory getJsonFactory(String format) {
+        switch (format) {
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    private Hotel getHotel(int index) {
+        var hotelCreateRequestDto = new HotelCreateRequestDto();
+        hotelCreateRequestDto.setName("Hotel " + index);
+        hotelCreateRequestDto.setDescription("3-Star hotel with a sea view and a rooftop pool.");
+        hotelCreateRequestDto.setCity("Colombo");
+        hotelCreateRequestDto.setAddress("Galle Rd, Colombo.");
+        hotelCreateRequestDto.setTelephone("011215487");
+        hotelCreateRequestDto.setEmail("info@hilton.com");
+        hotelCreateRequestDto.setLatitude(6.9271 + index / 10_000.0);
+        hotelCreateRequestDto.setLongitude(79.8612 + index / 10_000.0);
+        hotelCreateRequestDto.setImageUrl(List.of("https://img/" + index + "/1.jpg", "https://img/" + index + "/2.jpg"));
+        return new Hotel(hotelCreateRequestDto);
+    }
+}
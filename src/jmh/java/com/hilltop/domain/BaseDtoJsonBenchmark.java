@@ -0,0 +1,76 @@
+package com.hilltop.domain;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hilltop.domain.request.HotelCreateRequestDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a new ObjectMapper per call with the shared writers of BaseDto.
+ * Run with -prof gc to see the allocation rate of each variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BaseDtoJsonBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(BaseDtoJsonBenchmark.class);
+
+    private HotelCreateRequestDto hotelCreateRequestDto;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) log).setLevel(Level.WARN);
+        hotelCreateRequestDto = new HotelCreateRequestDto();
+        hotelCreateRequestDto.setName("Hilton");
+        hotelCreateRequestDto.setDescription("3-Star hotel.");
+        hotelCreateRequestDto.setCity("Colombo");
+        hotelCreateRequestDto.setAddress("Galle Rd, Colombo.");
+        hotelCreateRequestDto.setTelephone("011215487");
+        hotelCreateRequestDto.setEmail("info@hilton.com");
+        hotelCreateRequestDto.setImageUrl(List.of("https://img/1.jpg", "https://img/2.jpg"));
+    }
+
+    @Benchmark
+    public String newObjectMapperPerCall() throws JsonProcessingException {
+        return new ObjectMapper().writeValueAsString(hotelCreateRequestDto);
+    }
+
+    @Benchmark
+    public String sharedWriterToJson() {
+        return hotelCreateRequestDto.toJson();
+    }
+
+    @Benchmark
+    public String sharedWriterToLogJson() {
+        return hotelCreateRequestDto.toLogJson();
+    }
+
+    @Benchmark
+    public void eagerLogJsonWhenLevelDisabled() {
+        log.info("Successfully saved the hotel response: {}", hotelCreateRequestDto.toLogJson());
+    }
+
+    @Benchmark
+    public void lazyLogJsonWhenLevelDisabled() {
+        log.info("Successfully saved the hotel response: {}", hotelCreateRequestDto.toLazyLogJson());
+    }
+}
@@ -0,0 +1,80 @@
+package com.hilltop.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top ten completion latency and heap footprint of the completion trie over distinct synthetic hotel names.
+ * The footprint is printed once per fork, both as the trie estimate and as the measured heap growth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class CompletionTrieBenchmark {
+
+    private static final int LIMIT = 10;
+    private static final String[] HOTEL_WORDS = {"Hotel", "Resort", "Inn", "Lodge", "Villa", "Suites", "Grand",
+            "Beach", "Garden", "Palace", "Royal", "Lake", "Hill", "City", "Boutique", "Bay"};
+
+    @Param({"1000000"})
+    private int entryCount;
+
+    private CompletionTrie completionTrie;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        var heapBefore = usedHeap();
+        completionTrie = new CompletionTrie();
+        while (completionTrie.size() < entryCount) {
+            var name = HOTEL_WORDS[random.nextInt(HOTEL_WORDS.length)] + " "
+                    + Integer.toString(random.nextInt(Integer.MAX_VALUE), Character.MAX_RADIX) + " "
+                    + HOTEL_WORDS[random.nextInt(HOTEL_WORDS.length)];
+            completionTrie.add(name, 1 + random.nextInt(100));
+        }
+        var heapAfter = usedHeap();
+        System.out.printf("%nCompletion trie with %d entries: estimated %.1f MB, measured heap growth %.1f MB "
+                        + "(%.0f bytes per entry).%n", completionTrie.size(),
+                completionTrie.estimateFootprintBytes() / 1e6, (heapAfter - heapBefore) / 1e6,
+                (double) (heapAfter - heapBefore) / completionTrie.size());
+    }
+
+    @Benchmark
+    public List<HotelSuggestion> oneCharacterPrefix() {
+        return completionTrie.complete("g", LIMIT);
+    }
+
+    @Benchmark
+    public List<HotelSuggestion> wordPrefix() {
+        return completionTrie.complete("grand b", LIMIT);
+    }
+
+    @Benchmark
+    public List<HotelSuggestion> missingPrefix() {
+        return completionTrie.complete("zz", LIMIT);
+    }
+
+    private static long usedHeap() {
+        var runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
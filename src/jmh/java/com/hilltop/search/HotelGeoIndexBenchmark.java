@@ -0,0 +1,75 @@
+package com.hilltop.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Location search latency of the hotel geo index as the catalogue grows.
+ * Hotels are clustered around synthetic cities and the cities spread further apart as more hotels are added,
+ * so the density around the searched point stays the same and the latency should not change with the size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class HotelGeoIndexBenchmark {
+
+    private static final int HOTELS_PER_CITY = 2000;
+    private static final double CITY_SPREAD_DEGREES = 0.3;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100000", "1000000"})
+    private int hotelCount;
+
+    private HotelGeoIndex hotelGeoIndex;
+    private double cityLatitude;
+    private double cityLongitude;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        hotelGeoIndex = new HotelGeoIndex();
+        for (int i = 0; i < hotelCount; i++) {
+            int city = i / HOTELS_PER_CITY;
+            var latitude = -60 + (city * 7.3) % 120 + random.nextGaussian() * CITY_SPREAD_DEGREES / 3;
+            var longitude = -180 + (city * 13.7) % 360 + random.nextGaussian() * CITY_SPREAD_DEGREES / 3;
+            if (i == 0) {
+                cityLatitude = latitude;
+                cityLongitude = longitude;
+            }
+            hotelGeoIndex.put("hid-" + i, "Hotel " + i, "City" + city, i + " Main Rd",
+                    Math.max(-90, Math.min(90, latitude)), longitude);
+        }
+    }
+
+    @Benchmark
+    public HotelGeoResult nearbyFiveKm() {
+        return hotelGeoIndex.withinRadius(cityLatitude, cityLongitude, 5, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<HotelGeoHit> nearestTen() {
+        return hotelGeoIndex.nearest(cityLatitude, cityLongitude, 10, 100);
+    }
+
+    @Benchmark
+    public HotelGeoResult boxAroundCity() {
+        return hotelGeoIndex.withinBox(cityLatitude - 0.1, cityLongitude - 0.1, cityLatitude + 0.1,
+                cityLongitude + 0.1, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,101 @@
+package com.hilltop.search;
+
+import com.hilltop.model.HotelSearchRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency of the hotel search index over synthetic hotels.
+ * Names, addresses and descriptions are drawn from a skewed vocabulary, so some terms are common and most are rare.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class HotelSearchIndexBenchmark {
+
+    private static final int CITY_COUNT = 200;
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int DESCRIPTION_TERMS = 12;
+    private static final int PAGE_SIZE = 20;
+    private static final String[] HOTEL_WORDS = {"hotel", "resort", "inn", "lodge", "villa", "suites", "grand",
+            "beach", "garden", "palace", "royal", "lake", "hill", "city", "boutique", "bay"};
+
+    @Param({"1000000"})
+    private int hotelCount;
+
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        var vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            vocabulary[i] = Integer.toString(i * 7919 + 100_000, Character.MAX_RADIX).replaceAll("[0-9]", "q");
+        }
+        hotelSearchIndex = new HotelSearchIndex(new HotelCompletionIndex(), new HotelGeoIndex());
+        List<HotelSearchRow> batch = new ArrayList<>();
+        for (int i = 0; i < hotelCount; i++) {
+            var name = HOTEL_WORDS[random.nextInt(HOTEL_WORDS.length)] + " " + skewed(vocabulary, random) + " "
+                    + HOTEL_WORDS[random.nextInt(HOTEL_WORDS.length)];
+            var description = new StringBuilder();
+            for (int j = 0; j < DESCRIPTION_TERMS; j++) {
+                description.append(skewed(vocabulary, random)).append(' ');
+            }
+            batch.add(new HotelSearchRow("hid-" + i, name, description.toString(), "City" + random.nextInt(CITY_COUNT),
+                    random.nextInt(500) + " " + skewed(vocabulary, random) + " Rd"));
+            if (batch.size() == 10_000) {
+                hotelSearchIndex.loadBatch(batch);
+                batch.clear();
+            }
+        }
+        hotelSearchIndex.loadBatch(batch);
+    }
+
+    @Benchmark
+    public HotelSearchResult rareTerm() {
+        return hotelSearchIndex.search("kqq", null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public HotelSearchResult commonTermInCity() {
+        return hotelSearchIndex.search("resort", "City7", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public HotelSearchResult twoCommonTerms() {
+        return hotelSearchIndex.search("grand beach", null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public HotelSearchResult commonAndRareTerm() {
+        return hotelSearchIndex.search("hotel city7", null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public HotelSearchResult shortPrefix() {
+        return hotelSearchIndex.search("bou", null, 0, PAGE_SIZE);
+    }
+
+    private static String skewed(String[] vocabulary, Random random) {
+        // squaring a uniform value favours the first words of the vocabulary
+        var value = random.nextDouble();
+        return vocabulary[(int) (value * value * vocabulary.length)];
+    }
+}
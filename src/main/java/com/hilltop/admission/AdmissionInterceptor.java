@@ -0,0 +1,89 @@
+package com.hilltop.admission;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits hotel requests through the admission limiter before they reach the hotel services.
+ * Streamed responses keep their permit until the stream is written, since they hold a database connection
+ * while streaming. The permit is given back by the async dispatch which follows the stream, or when the async
+ * request completes without one.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".PERMIT";
+
+    private final AdmissionLimiter admissionLimiter;
+
+    public AdmissionInterceptor(AdmissionLimiter admissionLimiter) {
+        this.admissionLimiter = admissionLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        admissionLimiter.acquire();
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        var permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            request.getAsyncContext().addListener(permit);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        var permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.release();
+        }
+    }
+
+    /**
+     * Permit of one admitted request, given back at most once.
+     */
+    private class Permit implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                admissionLimiter.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // the async dispatch or onComplete which follows gives the permit back
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // the async dispatch or onComplete which follows gives the permit back
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // the permit stays registered on the new async cycle
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.hilltop.admission;
+
+import com.hilltop.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the number of hotel requests served at the same time.
+ * A request which cannot be admitted within the maximum wait is rejected at once with a retry hint, instead of
+ * queueing for a database connection until the pool times out.
+ */
+@Component
+@Slf4j
+public class AdmissionLimiter implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdmissionLimiter(@Value("${hotel.admission.max-concurrent:64}") int maxConcurrent,
+                            @Value("${hotel.admission.max-wait:100ms}") Duration maxWait,
+                            @Value("${hotel.admission.retry-after:1s}") Duration retryAfter) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    /**
+     * This method admits a request or rejects it when no permit is free within the maximum wait.
+     * An admitted request must call release.
+     *
+     * @throws ServiceOverloadedException when the request is not admitted
+     */
+    public void acquire() {
+        try {
+            if (permits.tryAcquire() || permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.incrementAndGet();
+        log.warn("Rejected a request since all: {} admission permits are in use.", maxConcurrent);
+        throw new ServiceOverloadedException("Service is overloaded.", retryAfterSeconds);
+    }
+
+    /**
+     * This method returns the permit of an admitted request.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * This method returns the number of requests currently admitted.
+     *
+     * @return permits in use
+     */
+    public int getInUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hotel.admission.in.use", this, AdmissionLimiter::getInUse)
+                .description("Requests currently admitted").register(registry);
+        Gauge.builder("hotel.admission.limit", this, admissionLimiter -> admissionLimiter.maxConcurrent)
+                .description("Requests admitted at the same time at most").register(registry);
+        Gauge.builder("hotel.admission.waiting", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for admission").register(registry);
+        FunctionCounter.builder("hotel.admission.rejected", rejected, AtomicLong::get)
+                .description("Requests rejected as overloaded").register(registry);
+    }
+}
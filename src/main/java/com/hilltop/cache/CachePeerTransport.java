@@ -0,0 +1,18 @@
+package com.hilltop.cache;
+
+import com.hilltop.domain.request.CacheInvalidationRequestDto;
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * Sends cache invalidation batches to a peer hotel-service instance.
+ */
+public interface CachePeerTransport {
+
+    /**
+     * This method sends an invalidation batch to a peer.
+     *
+     * @param peer                        peer instance
+     * @param cacheInvalidationRequestDto invalidation batch
+     */
+    void send(ServiceInstance peer, CacheInvalidationRequestDto cacheInvalidationRequestDto);
+}
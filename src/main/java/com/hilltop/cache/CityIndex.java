@@ -0,0 +1,146 @@
+package com.hilltop.cache;
+
+import com.hilltop.model.CityHotelCount;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of hotel cities with the number of hotels in each city.
+ * Loaded once from the database and kept up to date by hotel writes.
+ * <p>
+ * A hotel write calls beginWrite before it reaches the database and endWrite once the index has been updated.
+ * Both bump a version, also while the index is not loaded, and counts read from the database are only loaded
+ * when no write is in progress and none started since the version was read. Counts that may already include
+ * a committed write whose increment has not run yet are therefore discarded instead of counted twice.
+ */
+@Component
+public class CityIndex {
+
+    private final Map<String, Long> hotelCountByCity = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private long version;
+    private int writesInProgress;
+
+    /**
+     * This method checks the index has been loaded from the database.
+     *
+     * @return true/ false
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * This method returns the version of the index, which is read before the city counts are read to load it.
+     *
+     * @return version
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * This method replaces the index content with the given city counts,
+     * unless a hotel was written after the given version was read or a hotel write is in progress.
+     *
+     * @param cityHotelCounts city hotel counts
+     * @param version         version read before the city counts
+     * @return true if the counts were loaded, false if they may be missing a write
+     */
+    public synchronized boolean load(List<CityHotelCount> cityHotelCounts, long version) {
+        if (this.version != version || writesInProgress > 0) {
+            return false;
+        }
+        hotelCountByCity.clear();
+        cityHotelCounts.forEach(cityHotelCount ->
+                hotelCountByCity.put(cityHotelCount.getCity(), cityHotelCount.getHotelCount()));
+        loaded = true;
+        return true;
+    }
+
+    /**
+     * This method records a hotel write about to reach the database. Must be followed by endWrite.
+     */
+    public synchronized void beginWrite() {
+        version++;
+        writesInProgress++;
+    }
+
+    /**
+     * This method records a hotel write which is committed or failed and whose cities are updated.
+     */
+    public synchronized void endWrite() {
+        version++;
+        writesInProgress--;
+    }
+
+    /**
+     * This method marks the index as stale so that it is reloaded on next read.
+     */
+    public synchronized void reset() {
+        version++;
+        loaded = false;
+        hotelCountByCity.clear();
+    }
+
+    /**
+     * This method returns all cities which have at least one hotel.
+     *
+     * @return city list
+     */
+    public List<String> getCities() {
+        return new ArrayList<>(hotelCountByCity.keySet());
+    }
+
+    /**
+     * This method returns the number of hotels in a city.
+     *
+     * @param city city
+     * @return hotel count
+     */
+    public long getHotelCount(String city) {
+        return hotelCountByCity.getOrDefault(city, 0L);
+    }
+
+    /**
+     * This method records a hotel added to a city.
+     *
+     * @param city city
+     */
+    public synchronized void increment(String city) {
+        version++;
+        if (loaded && city != null) {
+            hotelCountByCity.merge(city, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * This method records a hotel removed from a city.
+     *
+     * @param city city
+     */
+    public synchronized void decrement(String city) {
+        version++;
+        if (loaded && city != null) {
+            hotelCountByCity.computeIfPresent(city, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * This method records a hotel moved from one city to another.
+     *
+     * @param oldCity old city
+     * @param newCity new city
+     */
+    public synchronized void move(String oldCity, String newCity) {
+        if (oldCity != null && oldCity.equals(newCity)) {
+            return;
+        }
+        decrement(oldCity);
+        increment(newCity);
+    }
+}
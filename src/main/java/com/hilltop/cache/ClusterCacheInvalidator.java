@@ -0,0 +1,273 @@
+package com.hilltop.cache;
+
+import com.hilltop.datasource.RecentWriteTracker;
+import com.hilltop.domain.request.CacheInvalidationRequestDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Broadcasts hotel cache invalidations to the other hotel-service instances registered in Eureka.
+ * Invalidations are coalesced and sent in batches on a fixed delay.
+ * <p>
+ * Batches a peer did not receive are kept for that peer and sent again with the next flush, coalesced with the
+ * other undelivered invalidations of the peer. The city, search, completion and geo indexes of a peer never expire,
+ * so a lost invalidation would leave them stale. A peer is retried for as long as the discovery client lists it,
+ * and forgotten once it leaves, as it starts with empty caches when it is back. After max-retries failed flushes
+ * in a row the hotel ids of its backlog are dropped and the peer is sent a reset instead, which clears its hotel
+ * cache and its city index once it is reachable again.
+ */
+@Component
+@Slf4j
+public class ClusterCacheInvalidator {
+
+    private final Set<String> pendingHotelIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pendingCities = new AtomicBoolean();
+    private final Map<String, PeerBacklog> backlogByPeer = new ConcurrentHashMap<>();
+    private final DiscoveryClient discoveryClient;
+    private final CachePeerTransport cachePeerTransport;
+    private final ObjectProvider<Registration> registration;
+    private final HotelCache hotelCache;
+    private final CityIndex cityIndex;
+    private final RecentWriteTracker recentWriteTracker;
+    private final String serviceId;
+    private final int maxBatchSize;
+    private final int maxRetries;
+
+    public ClusterCacheInvalidator(DiscoveryClient discoveryClient, CachePeerTransport cachePeerTransport,
+                                   ObjectProvider<Registration> registration, HotelCache hotelCache,
+                                   CityIndex cityIndex, RecentWriteTracker recentWriteTracker,
+                                   @Value("${spring.application.name}") String serviceId,
+                                   @Value("${hotel.cache.cluster.max-batch-size:500}") int maxBatchSize,
+                                   @Value("${hotel.cache.cluster.max-retries:50}") int maxRetries) {
+        this.discoveryClient = discoveryClient;
+        this.cachePeerTransport = cachePeerTransport;
+        this.registration = registration;
+        this.hotelCache = hotelCache;
+        this.cityIndex = cityIndex;
+        this.recentWriteTracker = recentWriteTracker;
+        this.serviceId = serviceId;
+        this.maxBatchSize = maxBatchSize;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * This method queues a hotel invalidation for the peers.
+     *
+     * @param hotelId       hotel id
+     * @param citiesChanged true when the city index of peers should be reloaded
+     */
+    public void publish(String hotelId, boolean citiesChanged) {
+        pendingHotelIds.add(hotelId);
+        if (citiesChanged) {
+            pendingCities.set(true);
+        }
+    }
+
+    /**
+     * This method queues a city index reload for the peers.
+     */
+    public void publishCitiesChanged() {
+        pendingCities.set(true);
+    }
+
+    /**
+     * This method sends the queued invalidations, and the invalidations peers did not receive before, to all peers.
+     */
+    @Scheduled(fixedDelayString = "${hotel.cache.cluster.flush-interval:200}")
+    public void flush() {
+        var cities = pendingCities.getAndSet(false);
+        var batches = drainBatches(cities);
+        if (batches.isEmpty() && backlogByPeer.isEmpty()) {
+            return;
+        }
+        var peers = getPeers();
+        var peerIds = peers.stream().map(ServiceInstance::getInstanceId).collect(Collectors.toSet());
+        backlogByPeer.keySet().retainAll(peerIds);
+        for (var peer : peers) {
+            send(peer, batches);
+        }
+    }
+
+    /**
+     * This method returns the number of peers with invalidations they did not receive yet.
+     *
+     * @return number of peers
+     */
+    public int getBackloggedPeers() {
+        return backlogByPeer.size();
+    }
+
+    /**
+     * This method applies an invalidation batch received from a peer to the local caches.
+     * The hotels are recorded as recent writes, so they are reloaded from the primary rather than a lagging replica.
+     *
+     * @param cacheInvalidationRequestDto invalidation batch
+     */
+    public void apply(CacheInvalidationRequestDto cacheInvalidationRequestDto) {
+        cacheInvalidationRequestDto.getHotelIds().forEach(hotelId -> {
+            recentWriteTracker.recordWrite(hotelId);
+            hotelCache.invalidate(hotelId);
+        });
+        if (cacheInvalidationRequestDto.isReset()) {
+            log.warn("Clearing the hotel cache and the city index on reset from a peer.");
+            hotelCache.invalidateAll();
+        }
+        if (cacheInvalidationRequestDto.isCities() || cacheInvalidationRequestDto.isReset()) {
+            cityIndex.reset();
+        }
+        log.debug("Applied cache invalidation for {} hotels.", cacheInvalidationRequestDto.getHotelIds().size());
+    }
+
+    /**
+     * This method sends the backlog of a peer followed by the new batches.
+     * A backlog whose hotel ids were dropped is sent as a reset.
+     * When a batch fails, it and the batches after it are kept as the backlog of the peer.
+     *
+     * @param peer    peer instance
+     * @param batches new invalidation batches
+     */
+    private void send(ServiceInstance peer, List<CacheInvalidationRequestDto> batches) {
+        var backlog = backlogByPeer.remove(peer.getInstanceId());
+        List<CacheInvalidationRequestDto> peerBatches = batches;
+        if (backlog != null) {
+            peerBatches = backlog.reset ? new ArrayList<>(List.of(new CacheInvalidationRequestDto(new ArrayList<>(),
+                    true, true))) : toBatches(backlog.hotelIds, backlog.cities);
+            peerBatches.addAll(batches);
+        }
+        for (int i = 0; i < peerBatches.size(); i++) {
+            try {
+                cachePeerTransport.send(peer, peerBatches.get(i));
+            } catch (RuntimeException e) {
+                var attempts = i == 0 && backlog != null ? backlog.attempts + 1 : 1;
+                requeue(peer, peerBatches.subList(i, peerBatches.size()), attempts, e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method keeps the undelivered batches of a peer for the next flush.
+     * Once the peer has failed more than max-retries flushes in a row, its hotel ids are replaced by a reset.
+     *
+     * @param peer     peer instance
+     * @param batches  undelivered batches
+     * @param attempts failed flushes in a row
+     * @param e        failure of the last attempt
+     */
+    private void requeue(ServiceInstance peer, List<CacheInvalidationRequestDto> batches, int attempts,
+                         RuntimeException e) {
+        var backlog = new PeerBacklog(attempts);
+        batches.forEach(batch -> {
+            backlog.hotelIds.addAll(batch.getHotelIds());
+            backlog.cities |= batch.isCities();
+            backlog.reset |= batch.isReset();
+        });
+        if (attempts > maxRetries && !backlog.reset) {
+            log.error("Dropping cache invalidation backlog of peer: {} after {} attempts, resetting the peer when it "
+                    + "is reachable due to :{}", peer.getInstanceId(), attempts, e.toString());
+            backlog.reset = true;
+        } else {
+            log.warn("Sending cache invalidation to peer: {} was failed, retrying on next flush due to :{}",
+                    peer.getInstanceId(), e.toString());
+        }
+        if (backlog.reset) {
+            backlog.hotelIds.clear();
+        }
+        backlogByPeer.merge(peer.getInstanceId(), backlog, PeerBacklog::merge);
+    }
+
+    /**
+     * This method removes the queued hotel ids and splits them into batches.
+     *
+     * @param cities true when the city index of peers should be reloaded
+     * @return invalidation batches
+     */
+    private List<CacheInvalidationRequestDto> drainBatches(boolean cities) {
+        List<String> hotelIds = new ArrayList<>();
+        Iterator<String> iterator = pendingHotelIds.iterator();
+        while (iterator.hasNext()) {
+            hotelIds.add(iterator.next());
+            iterator.remove();
+        }
+        return toBatches(hotelIds, cities);
+    }
+
+    /**
+     * This method splits hotel ids into batches of at most max-batch-size ids.
+     *
+     * @param ids    hotel ids
+     * @param cities true when the city index of peers should be reloaded
+     * @return invalidation batches
+     */
+    private List<CacheInvalidationRequestDto> toBatches(Collection<String> ids, boolean cities) {
+        List<CacheInvalidationRequestDto> batches = new ArrayList<>();
+        List<String> hotelIds = new ArrayList<>();
+        for (var id : ids) {
+            hotelIds.add(id);
+            if (hotelIds.size() == maxBatchSize) {
+                batches.add(new CacheInvalidationRequestDto(hotelIds, cities, false));
+                hotelIds = new ArrayList<>();
+            }
+        }
+        if (!hotelIds.isEmpty() || (cities && batches.isEmpty())) {
+            batches.add(new CacheInvalidationRequestDto(hotelIds, cities, false));
+        }
+        return batches;
+    }
+
+    /**
+     * This method returns the other instances of this service from the discovery client.
+     *
+     * @return peer instances
+     */
+    private List<ServiceInstance> getPeers() {
+        var localRegistration = registration.getIfAvailable();
+        var localInstanceId = localRegistration == null ? null : localRegistration.getInstanceId();
+        return discoveryClient.getInstances(serviceId).stream()
+                .filter(instance -> localInstanceId == null || !localInstanceId.equals(instance.getInstanceId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Coalesced invalidations a peer did not receive, with the number of failed flushes in a row.
+     * A reset backlog holds no hotel ids, as the reset clears the whole hotel cache of the peer.
+     */
+    private static class PeerBacklog {
+        private final Set<String> hotelIds = new LinkedHashSet<>();
+        private final int attempts;
+        private boolean cities;
+        private boolean reset;
+
+        PeerBacklog(int attempts) {
+            this.attempts = attempts;
+        }
+
+        private PeerBacklog merge(PeerBacklog other) {
+            cities |= other.cities;
+            reset |= other.reset;
+            if (reset) {
+                hotelIds.clear();
+            } else {
+                hotelIds.addAll(other.hotelIds);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.hilltop.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hilltop.model.Hotel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of hotel snapshots keyed by hotel id.
+ * Entries are detached copies, so callers never share an instance with the cache.
+ */
+@Component
+public class HotelCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "hotel";
+    private static final int INVALIDATION_STRIPES = 1024;
+
+    private final Cache<String, Hotel> cache;
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    public HotelCache(@Value("${hotel.cache.maximum-size:10000}") long maximumSize,
+                      @Value("${hotel.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * This method returns the cached hotel or loads it with the given loader.
+     * The loader runs outside the cache locks, since it waits for a database connection which a request
+     * blocked on the same lock may hold. A load which overlaps an invalidation is returned but not cached.
+     *
+     * @param id     hotel id
+     * @param loader hotel loader
+     * @return copy of the hotel
+     */
+    public Hotel get(String id, Function<String, Hotel> loader) {
+        var snapshot = cache.getIfPresent(id);
+        if (snapshot == null) {
+            var invalidationCount = getInvalidationCount(id);
+            snapshot = new Hotel(loader.apply(id));
+            putIfNotInvalidated(snapshot, invalidationCount);
+        }
+        return new Hotel(snapshot);
+    }
+
+    /**
+     * This method returns the cached hotels of the given ids and loads the missing ones with one loader call.
+     * Ids which are neither cached nor returned by the loader are left out of the result.
+     *
+     * @param ids    hotel ids
+     * @param loader loader of the hotels of the given ids
+     * @return copies of the hotels by id, in the order of the given ids
+     */
+    public Map<String, Hotel> getAll(Collection<String> ids, Function<List<String>, List<Hotel>> loader) {
+        Map<String, Hotel> snapshots = new LinkedHashMap<>();
+        List<String> missingIds = new ArrayList<>();
+        for (var id : ids) {
+            var snapshot = cache.getIfPresent(id);
+            snapshots.put(id, snapshot);
+            if (snapshot == null) {
+                missingIds.add(id);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            Map<String, Long> invalidationCounts = new HashMap<>();
+            missingIds.forEach(id -> invalidationCounts.put(id, getInvalidationCount(id)));
+            for (var hotel : loader.apply(missingIds)) {
+                var snapshot = new Hotel(hotel);
+                snapshots.replace(snapshot.getId(), snapshot);
+                var invalidationCount = invalidationCounts.get(snapshot.getId());
+                if (invalidationCount != null) {
+                    putIfNotInvalidated(snapshot, invalidationCount);
+                }
+            }
+        }
+        Map<String, Hotel> hotels = new LinkedHashMap<>();
+        snapshots.forEach((id, snapshot) -> {
+            if (snapshot != null) {
+                hotels.put(id, new Hotel(snapshot));
+            }
+        });
+        return hotels;
+    }
+
+    /**
+     * This method stores a snapshot of the given hotel.
+     *
+     * @param hotel hotel
+     */
+    public void put(Hotel hotel) {
+        cache.put(hotel.getId(), new Hotel(hotel));
+    }
+
+    /**
+     * This method removes a hotel from the cache.
+     * Loads in flight at the same time are not cached, so a stale load cannot survive the invalidation.
+     * The invalidation count is bumped under the entry lock, the same lock a load is cached under.
+     *
+     * @param id hotel id
+     */
+    public void invalidate(String id) {
+        cache.asMap().compute(id, (key, cached) -> {
+            invalidations.incrementAndGet(getStripe(key));
+            return null;
+        });
+    }
+
+    /**
+     * This method removes every hotel from the cache.
+     * All invalidation counts are bumped first, so loads in flight at the same time are not cached.
+     */
+    public void invalidateAll() {
+        for (int stripe = 0; stripe < INVALIDATION_STRIPES; stripe++) {
+            invalidations.incrementAndGet(stripe);
+        }
+        cache.invalidateAll();
+    }
+
+    /**
+     * This method caches a loaded snapshot unless its id was invalidated since the load started.
+     * The check and the insert run under the entry lock, so an invalidation cannot run in between.
+     *
+     * @param snapshot          loaded snapshot
+     * @param invalidationCount invalidation count read before the load
+     */
+    private void putIfNotInvalidated(Hotel snapshot, long invalidationCount) {
+        cache.asMap().compute(snapshot.getId(), (id, cached) -> {
+            if (cached != null || getInvalidationCount(id) != invalidationCount) {
+                return cached;
+            }
+            return snapshot;
+        });
+    }
+
+    /**
+     * This method returns the invalidation count of the stripe of a hotel id.
+     * Ids share stripes, so an invalidation may also keep a load of another id from being cached.
+     *
+     * @param id hotel id
+     * @return invalidation count
+     */
+    private long getInvalidationCount(String id) {
+        return invalidations.get(getStripe(id));
+    }
+
+    private static int getStripe(String id) {
+        var hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (INVALIDATION_STRIPES - 1);
+    }
+
+    /**
+     * This method returns hit, miss and eviction counters of the cache.
+     *
+     * @return cache stats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
@@ -0,0 +1,95 @@
+package com.hilltop.cache;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bounded cache of the serialized json of hotel responses keyed by hotel id, bounded by the size of the json.
+ * Every fragment carries the updatedAt of the hotel it was written from, which is the same version the ETag of a
+ * hotel is built on, so a fragment of an older version is never returned and is replaced on the next write.
+ */
+@Component
+public class HotelJsonFragmentCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "hotel.json.fragment";
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final Cache<String, Fragment> cache;
+
+    public HotelJsonFragmentCache(@Value("${hotel.json-fragment-cache.maximum-size:32MB}") DataSize maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String id, Fragment fragment) -> fragment.size)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * This method returns the json of the given hotel version, or null if it is not cached.
+     *
+     * @param id        hotel id
+     * @param updatedAt updatedAt of the hotel
+     * @return json fragment
+     */
+    public SerializableString get(String id, long updatedAt) {
+        var fragment = cache.getIfPresent(id);
+        return fragment == null || fragment.updatedAt != updatedAt ? null : fragment.json;
+    }
+
+    /**
+     * This method stores the json of the given hotel version, unless a newer version is cached already.
+     *
+     * @param id        hotel id
+     * @param updatedAt updatedAt of the hotel
+     * @param json      utf-8 json of the hotel
+     * @return json fragment
+     */
+    public SerializableString put(String id, long updatedAt, byte[] json) {
+        var fragment = new Fragment(updatedAt, json);
+        cache.asMap().merge(id, fragment, (cached, written) -> cached.updatedAt > written.updatedAt ? cached : written);
+        return fragment.json;
+    }
+
+    /**
+     * This method returns hit, miss and eviction counters of the cache.
+     *
+     * @return cache stats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Json of one hotel version. The utf-8 bytes are kept inside the serialized string,
+     * so writing the fragment to a utf-8 response is a plain copy.
+     */
+    private static class Fragment {
+        private final long updatedAt;
+        private final SerializedString json;
+        private final int size;
+
+        Fragment(long updatedAt, byte[] json) {
+            this.updatedAt = updatedAt;
+            this.json = new SerializedString(new String(json, StandardCharsets.UTF_8));
+            this.json.asUnquotedUTF8();
+            // the utf-8 bytes and the string of the same json
+            this.size = json.length * 3 + ENTRY_OVERHEAD_BYTES;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.hilltop.cache;
+
+import com.hilltop.domain.request.CacheInvalidationRequestDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Sends cache invalidation batches to peers over HTTP.
+ * Every batch carries the shared peer token, without which a peer rejects the batch.
+ */
+@Component
+public class RestCachePeerTransport implements CachePeerTransport {
+
+    public static final String PEER_TOKEN_HEADER = "X-Cache-Peer-Token";
+    private static final String INVALIDATION_PATH = "/api/v1/internal/cache/invalidations";
+
+    private final RestTemplate restTemplate;
+    private final String contextPath;
+    private final String peerToken;
+
+    public RestCachePeerTransport(RestTemplateBuilder restTemplateBuilder,
+                                  @Value("${server.servlet.context-path:}") String contextPath,
+                                  @Value("${hotel.cache.cluster.timeout:1s}") Duration timeout,
+                                  @Value("${hotel.cache.cluster.peer-token:}") String peerToken) {
+        this.restTemplate = restTemplateBuilder.setConnectTimeout(timeout).setReadTimeout(timeout).build();
+        this.contextPath = contextPath;
+        this.peerToken = peerToken;
+    }
+
+    @Override
+    public void send(ServiceInstance peer, CacheInvalidationRequestDto cacheInvalidationRequestDto) {
+        var headers = new HttpHeaders();
+        headers.set(PEER_TOKEN_HEADER, peerToken);
+        restTemplate.postForEntity(peer.getUri() + contextPath + INVALIDATION_PATH,
+                new HttpEntity<>(cacheInvalidationRequestDto, headers), Void.class);
+    }
+}
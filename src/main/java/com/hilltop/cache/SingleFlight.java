@@ -0,0 +1,147 @@
+package com.hilltop.cache;
+
+import com.hilltop.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads, so a burst of requests for the same key runs one database read.
+ * The first caller of a key in a scope runs the read and every caller arriving while it is in flight waits for
+ * its result or exception instead of running its own. Keys are only compared within a scope, and reads in a scope
+ * which is not listed in hotel.single-flight.scopes are never coalesced.
+ * <p>
+ * A waiting caller gives up after the timeout with a retry response rather than adding its own read to a database
+ * which is already slow. The shared result is the same instance for every caller, so it must not be modified.
+ */
+@Component
+@Slf4j
+public class SingleFlight implements MeterBinder {
+
+    private final Map<String, Flights> scopes = new HashMap<>();
+    private final long timeoutNanos;
+    private final long retryAfterSeconds;
+
+    public SingleFlight(@Value("${hotel.single-flight.scopes:hotel,city}") List<String> scopes,
+                        @Value("${hotel.single-flight.timeout:2s}") Duration timeout,
+                        @Value("${hotel.admission.retry-after:1s}") Duration retryAfter) {
+        for (var scope : scopes) {
+            if (!scope.isBlank()) {
+                this.scopes.put(scope.trim(), new Flights());
+            }
+        }
+        this.timeoutNanos = timeout.toNanos();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    /**
+     * This method runs the read of the given key, or waits for the read of the same key already in flight.
+     *
+     * @param scope  scope of the key
+     * @param key    key of the read
+     * @param loader database read
+     * @param <T>    result type
+     * @return result of the read
+     * @throws ServiceOverloadedException when the read in flight does not complete within the timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, Object key, Supplier<T> loader) {
+        var flights = scopes.get(scope);
+        if (flights == null) {
+            return loader.get();
+        }
+        var flight = new CompletableFuture<Object>();
+        var inFlight = flights.inFlight.putIfAbsent(key, flight);
+        if (inFlight == null) {
+            flights.leaders.incrementAndGet();
+            return (T) lead(flights, key, flight, loader);
+        }
+        flights.followers.incrementAndGet();
+        return (T) follow(flights, scope, inFlight);
+    }
+
+    /**
+     * This method returns the number of reads currently in flight in a scope.
+     *
+     * @param scope scope
+     * @return reads in flight
+     */
+    public int getInFlight(String scope) {
+        var flights = scopes.get(scope);
+        return flights == null ? 0 : flights.inFlight.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        scopes.forEach((scope, flights) -> {
+            FunctionCounter.builder("hotel.single.flight.calls", flights.leaders, AtomicLong::get)
+                    .tags("scope", scope, "role", "leader")
+                    .description("Reads which ran or joined a single flight read").register(registry);
+            FunctionCounter.builder("hotel.single.flight.calls", flights.followers, AtomicLong::get)
+                    .tags("scope", scope, "role", "follower")
+                    .description("Reads which ran or joined a single flight read").register(registry);
+            FunctionCounter.builder("hotel.single.flight.timeouts", flights.timeouts, AtomicLong::get)
+                    .tag("scope", scope)
+                    .description("Reads which gave up waiting for a single flight read").register(registry);
+            Gauge.builder("hotel.single.flight.in.flight", flights.inFlight, Map::size)
+                    .tag("scope", scope)
+                    .description("Single flight reads currently in flight").register(registry);
+        });
+    }
+
+    private static Object lead(Flights flights, Object key, CompletableFuture<Object> flight, Supplier<?> loader) {
+        try {
+            var result = loader.get();
+            flights.inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flights.inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object follow(Flights flights, String scope, CompletableFuture<Object> inFlight) {
+        try {
+            return inFlight.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw (RuntimeException) e.getCause();
+        } catch (TimeoutException e) {
+            log.warn("Gave up waiting for a single flight read in scope: {}.", scope);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flights.timeouts.incrementAndGet();
+        throw new ServiceOverloadedException("Service is overloaded.", retryAfterSeconds);
+    }
+
+    /**
+     * Reads in flight and call counters of a scope.
+     */
+    private static class Flights {
+        private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+        private final AtomicLong leaders = new AtomicLong();
+        private final AtomicLong followers = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+    }
+}
@@ -0,0 +1,28 @@
+package com.hilltop.configuration;
+
+import com.hilltop.admission.AdmissionInterceptor;
+import com.hilltop.admission.AdmissionLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the admission limiter in front of the hotel endpoints.
+ * Internal peer endpoints and actuator are not limited.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hotel.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionLimiter admissionLimiter;
+
+    public AdmissionConfig(AdmissionLimiter admissionLimiter) {
+        this.admissionLimiter = admissionLimiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(admissionLimiter)).addPathPatterns("/api/v1/hotel/**");
+    }
+}
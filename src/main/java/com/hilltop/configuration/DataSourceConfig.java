@@ -0,0 +1,79 @@
+package com.hilltop.configuration;
+
+import com.hilltop.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits database traffic between the primary and read replicas when hotel.datasource.replica-urls is set.
+ * Read-only transactions are served by the replicas and everything else by the primary, which is configured
+ * with the usual spring.datasource properties. Replicas share the credentials and the spring.datasource.hikari
+ * settings of the primary, such as the connection timeout, apart from their url and pool size.
+ */
+@Configuration
+@ConditionalOnExpression("!'${hotel.datasource.replica-urls:}'.isEmpty()")
+public class DataSourceConfig {
+
+    private final ObjectProvider<ReadWriteRoutingDataSource> readWriteRoutingDataSource;
+
+    public DataSourceConfig(ObjectProvider<ReadWriteRoutingDataSource> readWriteRoutingDataSource) {
+        this.readWriteRoutingDataSource = readWriteRoutingDataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        var primaryDataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaryDataSource.setPoolName("primary");
+        return primaryDataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            HikariDataSource primaryDataSource, DataSourceProperties dataSourceProperties, Environment environment,
+            @Value("${hotel.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${hotel.datasource.replica-pool-size:10}") int replicaPoolSize,
+            @Value("${hotel.datasource.validation-timeout-seconds:2}") int validationTimeoutSeconds) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (var i = 0; i < replicaUrls.size(); i++) {
+            var replica = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, validationTimeoutSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    /**
+     * This method ejects replicas which fail a health check and admits them again once they pass.
+     */
+    @Scheduled(fixedDelayString = "${hotel.datasource.health-check-interval:5000}")
+    public void checkReplicas() {
+        readWriteRoutingDataSource.ifAvailable(ReadWriteRoutingDataSource::checkReplicas);
+    }
+}
@@ -0,0 +1,41 @@
+package com.hilltop.configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hilltop.cache.HotelJsonFragmentCache;
+import com.hilltop.domain.json.HotelJsonFragmentModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Jackson modules and message converters Spring MVC reads and writes bodies with.
+ * Besides json, responses are written as CBOR (application/cbor) or Smile (application/x-jackson-smile) when the
+ * client asks for one of them in the Accept header. The binary converters are placed after the json converter,
+ * so json stays the default for clients which accept anything.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module hotelJsonFragmentModule(HotelJsonFragmentCache hotelJsonFragmentCache) {
+        return new HotelJsonFragmentModule(hotelJsonFragmentCache);
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(jackson2ObjectMapperBuilder.factory(new CBORFactory())
+                .build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(jackson2ObjectMapperBuilder.factory(new SmileFactory())
+                .build());
+    }
+}
@@ -0,0 +1,48 @@
+package com.hilltop.configuration;
+
+import com.hilltop.metrics.InFlightRequestFilter;
+import com.hilltop.metrics.JdbcStatementCounter;
+import com.hilltop.metrics.RequestMetricsInterceptor;
+import com.hilltop.metrics.ResponseCodeTagsContributor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Request level metrics on top of the Spring Boot http, repository and connection pool metrics.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final JdbcStatementCounter jdbcStatementCounter = new JdbcStatementCounter();
+    private final MeterRegistry meterRegistry;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                jdbcStatementCounter);
+    }
+
+    @Bean
+    public static InFlightRequestFilter inFlightRequestFilter() {
+        return new InFlightRequestFilter();
+    }
+
+    @Bean
+    public ResponseCodeTagsContributor responseCodeTagsContributor() {
+        return new ResponseCodeTagsContributor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(jdbcStatementCounter, meterRegistry));
+    }
+}
@@ -0,0 +1,85 @@
+package com.hilltop.configuration;
+
+import com.hilltop.enums.ErrorResponseStatusType;
+import com.hilltop.enums.ResponseStatusType;
+import com.hilltop.enums.SuccessResponseStatusType;
+import com.hilltop.wrapper.ErrorResponseWrapper;
+import org.springframework.context.MessageSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Display messages of every success and error status in every supported locale, resolved once at startup.
+ * Error responses carry no data, so a whole immutable error response is kept per status and locale.
+ * A locale which is not supported falls back to the first supported locale.
+ */
+public class StatusMessages {
+
+    private final Map<String, Integer> localeIndexByLanguage;
+    private final String[][] successMessages;
+    private final ErrorResponseWrapper[][] errorResponses;
+
+    public StatusMessages(MessageSource messageSource, List<Locale> locales) {
+        if (locales.isEmpty()) {
+            throw new IllegalArgumentException("At least one locale is required for status messages.");
+        }
+        var successTypes = SuccessResponseStatusType.values();
+        var errorTypes = ErrorResponseStatusType.values();
+        Map<String, Integer> languages = new HashMap<>();
+        successMessages = new String[locales.size()][successTypes.length];
+        errorResponses = new ErrorResponseWrapper[locales.size()][errorTypes.length];
+        for (var i = 0; i < locales.size(); i++) {
+            var locale = locales.get(i);
+            languages.putIfAbsent(locale.getLanguage(), i);
+            for (var successType : successTypes) {
+                successMessages[i][successType.ordinal()] = messageSource.getMessage(
+                        successType.getCodeString(successType.getCode()), null, locale);
+            }
+            for (var errorType : errorTypes) {
+                errorResponses[i][errorType.ordinal()] = new ErrorResponseWrapper(ResponseStatusType.ERROR,
+                        errorType.getMessage(), null, messageSource.getMessage(
+                        ErrorResponseStatusType.getCodeString(errorType.getCode()), null, locale),
+                        errorType.getCode());
+            }
+        }
+        this.localeIndexByLanguage = Map.copyOf(languages);
+    }
+
+    /**
+     * This method returns the index of the supported locale used for the given locale.
+     *
+     * @param locale locale
+     * @return locale index
+     */
+    public int getLocaleIndex(Locale locale) {
+        if (successMessages.length == 1) {
+            return 0;
+        }
+        return localeIndexByLanguage.getOrDefault(locale.getLanguage(), 0);
+    }
+
+    /**
+     * This method returns the display message of a success status.
+     *
+     * @param successResponseStatusType successResponseStatusType
+     * @param localeIndex               locale index
+     * @return display message
+     */
+    public String getSuccessMessage(SuccessResponseStatusType successResponseStatusType, int localeIndex) {
+        return successMessages[localeIndex][successResponseStatusType.ordinal()];
+    }
+
+    /**
+     * This method returns the shared error response of an error status.
+     *
+     * @param errorResponseStatusType errorResponseStatusType
+     * @param localeIndex             locale index
+     * @return error response wrapper
+     */
+    public ErrorResponseWrapper getErrorResponse(ErrorResponseStatusType errorResponseStatusType, int localeIndex) {
+        return errorResponses[localeIndex][errorResponseStatusType.ordinal()];
+    }
+}
@@ -1,19 +1,25 @@
 package com.hilltop.configuration;
 
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.service.*;
 import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spi.service.contexts.SecurityContext;
 import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.spring.web.plugins.WebMvcRequestHandlerProvider;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Configuration
 @EnableSwagger2
@@ -34,6 +40,43 @@ public class SwaggerConfig {
                 .build();
     }
 
+    /**
+     * Springfox 3 only supports ant path matching handler mappings, while actuator endpoints are mapped with
+     * path patterns. Hide those mappings from springfox so the documentation bootstrap does not fail.
+     *
+     * @return bean post processor
+     */
+    @Bean
+    public static BeanPostProcessor springfoxHandlerProviderBeanPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof WebMvcRequestHandlerProvider) {
+                    removePathPatternHandlerMappings(bean);
+                }
+                return bean;
+            }
+
+            @SuppressWarnings("unchecked")
+            private void removePathPatternHandlerMappings(Object bean) {
+                var field = ReflectionUtils.findField(bean.getClass(), "handlerMappings");
+                if (field == null) {
+                    return;
+                }
+                ReflectionUtils.makeAccessible(field);
+                var handlerMappings = (List<RequestMappingInfoHandlerMapping>) ReflectionUtils.getField(field, bean);
+                if (handlerMappings == null) {
+                    return;
+                }
+                var antPathMappings = handlerMappings.stream()
+                        .filter(handlerMapping -> handlerMapping.getPatternParser() == null)
+                        .collect(Collectors.toList());
+                handlerMappings.clear();
+                handlerMappings.addAll(antPathMappings);
+            }
+        };
+    }
+
     //Api information
     private ApiInfo generateAPIInfo() {
 
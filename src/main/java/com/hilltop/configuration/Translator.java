@@ -1,11 +1,16 @@
 package com.hilltop.configuration;
 
+import com.hilltop.enums.ErrorResponseStatusType;
+import com.hilltop.enums.SuccessResponseStatusType;
+import com.hilltop.wrapper.ErrorResponseWrapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Locale;
 
 @Component
@@ -13,11 +18,14 @@ public class Translator {
 
     private final ResourceBundleMessageSource messageSource;
     private final MessageSourceAccessor messageSourceAccessor;
+    private final StatusMessages statusMessages;
 
     @Autowired
-    public Translator(ResourceBundleMessageSource messageSource) {
+    public Translator(ResourceBundleMessageSource messageSource,
+                      @Value("${hotel.messages.locales:en}") List<Locale> locales) {
         this.messageSource = messageSource;
         this.messageSourceAccessor = new MessageSourceAccessor(messageSource, Locale.ENGLISH);
+        this.statusMessages = new StatusMessages(messageSource, locales);
     }
 
     /**
@@ -31,6 +39,28 @@ public class Translator {
         return messageSource.getMessage(msgCode, null, locale);
     }
 
+    /**
+     * Return the display message of a success status in the request language
+     *
+     * @param successResponseStatusType successResponseStatusType
+     * @return display message
+     */
+    public String getDisplayMessage(SuccessResponseStatusType successResponseStatusType) {
+        return statusMessages.getSuccessMessage(successResponseStatusType,
+                statusMessages.getLocaleIndex(LocaleContextHolder.getLocale()));
+    }
+
+    /**
+     * Return the shared error response of an error status in the request language
+     *
+     * @param errorResponseStatusType errorResponseStatusType
+     * @return error response wrapper
+     */
+    public ErrorResponseWrapper getErrorResponse(ErrorResponseStatusType errorResponseStatusType) {
+        return statusMessages.getErrorResponse(errorResponseStatusType,
+                statusMessages.getLocaleIndex(LocaleContextHolder.getLocale()));
+    }
+
     /**
      * Return default locale messages
      *
@@ -0,0 +1,72 @@
+package com.hilltop.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling and asynchronous responses on virtual threads when
+ * hotel.server.execution-mode is virtual. A virtual thread blocked on JDBC does not hold a platform thread,
+ * so in flight requests are bounded by server.tomcat.max-connections and the connection pool instead of
+ * server.tomcat.threads.max.
+ * <p>
+ * Virtual threads need JDK 21. The executor is looked up at runtime, so the service still builds for Java 11;
+ * on an older runtime the platform thread pool is kept and a warning is logged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hotel.server.execution-mode", havingValue = "virtual")
+@Slf4j
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    private final ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (virtualThreadExecutor != null) {
+                protocolHandler.setExecutor(virtualThreadExecutor);
+                log.info("Tomcat requests are handled on virtual threads.");
+            }
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        if (virtualThreadExecutor != null) {
+            configurer.setTaskExecutor(new ConcurrentTaskExecutor(virtualThreadExecutor));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    /**
+     * This method creates an executor which starts a virtual thread per task.
+     *
+     * @return executor, null when the runtime has no virtual threads
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            log.warn("Virtual threads are not available on Java {}, keeping the platform thread pool.",
+                    Runtime.version().feature());
+        } catch (ReflectiveOperationException e) {
+            log.warn("Creating the virtual thread executor was failed due to :{}", e.toString());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.hilltop.controller;
+
+import com.hilltop.cache.ClusterCacheInvalidator;
+import com.hilltop.cache.RestCachePeerTransport;
+import com.hilltop.configuration.Translator;
+import com.hilltop.domain.request.CacheInvalidationRequestDto;
+import com.hilltop.enums.ErrorResponseStatusType;
+import com.hilltop.enums.SuccessResponseStatusType;
+import com.hilltop.exception.HotelServiceException;
+import com.hilltop.metrics.ResponseCodeTagsContributor;
+import com.hilltop.service.HotelSearchService;
+import com.hilltop.wrapper.ResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * CacheController
+ * Peer endpoints only accept requests carrying the shared peer token of hotel.cache.cluster.peer-token.
+ * Without a configured token every peer request is rejected.
+ */
+@RestController
+@RequestMapping("/api/v1/internal/cache")
+@Slf4j
+public class CacheController extends Controller {
+    private final ClusterCacheInvalidator clusterCacheInvalidator;
+    private final HotelSearchService hotelSearchService;
+    private final byte[] peerToken;
+
+    public CacheController(Translator translator, ClusterCacheInvalidator clusterCacheInvalidator,
+                           HotelSearchService hotelSearchService,
+                           @Value("${hotel.cache.cluster.peer-token:}") String peerToken) {
+        super(translator);
+        this.clusterCacheInvalidator = clusterCacheInvalidator;
+        this.hotelSearchService = hotelSearchService;
+        this.peerToken = peerToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This endpoint used by peer instances to invalidate cached hotels and refresh them in the search index.
+     *
+     * @param peerToken                shared peer token
+     * @param cacheInvalidationRequest cacheInvalidationRequest
+     * @return SuccessResponseStatus
+     */
+    @PostMapping("/invalidations")
+    public ResponseEntity<ResponseWrapper> invalidate(
+            @RequestHeader(value = RestCachePeerTransport.PEER_TOKEN_HEADER, required = false) String peerToken,
+            @RequestBody CacheInvalidationRequestDto cacheInvalidationRequest) {
+        if (!isPeer(peerToken)) {
+            log.error("Rejected cache invalidation without a valid peer token.");
+            ResponseCodeTagsContributor.recordResponseCode(ErrorResponseStatusType.INVALID_PEER_TOKEN.getCode());
+            return new ResponseEntity<>(translator.getErrorResponse(ErrorResponseStatusType.INVALID_PEER_TOKEN),
+                    HttpStatus.UNAUTHORIZED);
+        }
+        if (cacheInvalidationRequest.getHotelIds() == null) {
+            log.error("Missing hotel ids to invalidate cache.");
+            return getErrorResponse(ErrorResponseStatusType.MISSING_REQUIRED_FIELDS);
+        }
+        clusterCacheInvalidator.apply(cacheInvalidationRequest);
+        try {
+            hotelSearchService.refresh(cacheInvalidationRequest.getHotelIds());
+        } catch (HotelServiceException e) {
+            log.error("Refreshing hotel search index was failed.", e);
+            return getInternalServerError();
+        }
+        return getSuccessResponse(null, SuccessResponseStatusType.INVALIDATE_CACHE, HttpStatus.OK);
+    }
+
+    /**
+     * This method checks the request carries the configured peer token, comparing in constant time.
+     *
+     * @param peerToken peer token of the request
+     * @return true/ false
+     */
+    private boolean isPeer(String peerToken) {
+        return this.peerToken.length > 0 && peerToken != null
+                && MessageDigest.isEqual(this.peerToken, peerToken.getBytes(StandardCharsets.UTF_8));
+    }
+}
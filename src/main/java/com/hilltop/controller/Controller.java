@@ -5,17 +5,29 @@ import com.hilltop.domain.response.ResponseDto;
 import com.hilltop.enums.ErrorResponseStatusType;
 import com.hilltop.enums.ResponseStatusType;
 import com.hilltop.enums.SuccessResponseStatusType;
-import com.hilltop.wrapper.ErrorResponseWrapper;
+import com.hilltop.exception.ServiceOverloadedException;
+import com.hilltop.metrics.ResponseCodeTagsContributor;
 import com.hilltop.wrapper.ResponseWrapper;
 import com.hilltop.wrapper.SuccessResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Slf4j
 public class Controller {
     protected static final int DEFAULT_PAGE = 0;
     protected static final int PAGE_MAX_SIZE = 250;
     protected static final String DEFAULT_SORT = "updatedAt";
+    private static final String ETAG_PART_SEPARATOR = ":";
+    private static final long POOL_TIMEOUT_RETRY_AFTER_SECONDS = 1;
 
     protected final Translator translator;
 
@@ -32,13 +44,47 @@ public class Controller {
      */
     protected ResponseEntity<ResponseWrapper> getSuccessResponse(ResponseDto responseDto,
                                                                  SuccessResponseStatusType successResponseStatusType, HttpStatus httpStatus) {
+        return new ResponseEntity<>(getSuccessResponseWrapper(responseDto, successResponseStatusType, httpStatus),
+                httpStatus);
+    }
 
-        var successResponseWrapper = new SuccessResponseWrapper(ResponseStatusType.SUCCESS,
-                successResponseStatusType, responseDto,
-                translator.toLocale(successResponseStatusType.getCodeString(successResponseStatusType.getCode())),httpStatus);
+    /**
+     * This method creates the data response for success request with validators for conditional requests.
+     *
+     * @param responseDto  responseDto
+     * @param eTag         strong entity tag of the response
+     * @param lastModified last modified time in epoch millis, non positive to omit
+     * @return response entity
+     */
+    protected ResponseEntity<ResponseWrapper> getSuccessResponse(ResponseDto responseDto,
+                                                                 SuccessResponseStatusType successResponseStatusType,
+                                                                 HttpStatus httpStatus, String eTag, long lastModified) {
+        return ResponseEntity.status(httpStatus)
+                .headers(getValidatorHeaders(eTag, lastModified))
+                .body(getSuccessResponseWrapper(responseDto, successResponseStatusType, httpStatus));
+    }
 
+    /**
+     * This method creates the empty not modified response for conditional requests.
+     *
+     * @param eTag         strong entity tag of the response
+     * @param lastModified last modified time in epoch millis, non positive to omit
+     * @return not modified response
+     */
+    protected ResponseEntity<ResponseWrapper> getNotModifiedResponse(String eTag, long lastModified) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(getValidatorHeaders(eTag, lastModified)).build();
+    }
 
-        return new ResponseEntity<>(successResponseWrapper, httpStatus);
+    /**
+     * This method generates a strong entity tag from the given parts.
+     * The language tag is always included since display messages are localized.
+     *
+     * @param parts parts which identify the representation
+     * @return quoted entity tag
+     */
+    protected String generateETag(String... parts) {
+        var value = String.join(ETAG_PART_SEPARATOR, parts) + ETAG_PART_SEPARATOR + translator.getLanguageTag();
+        return "\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 
     /**
@@ -47,12 +93,50 @@ public class Controller {
      * @return response entity
      */
     protected ResponseEntity<ResponseWrapper> getInternalServerError() {
-        var errorResponseWrapper = new ErrorResponseWrapper(ResponseStatusType.ERROR,
-                ErrorResponseStatusType.INTERNAL_SERVER_ERROR.getMessage(), null,
-                translator.toLocale(ErrorResponseStatusType.
-                        getCodeString(ErrorResponseStatusType.INTERNAL_SERVER_ERROR.getCode())),
-                ErrorResponseStatusType.INTERNAL_SERVER_ERROR.getCode());
-        return new ResponseEntity<>(errorResponseWrapper, HttpStatus.INTERNAL_SERVER_ERROR);
+        ResponseCodeTagsContributor.recordResponseCode(ErrorResponseStatusType.INTERNAL_SERVER_ERROR.getCode());
+        return new ResponseEntity<>(translator.getErrorResponse(ErrorResponseStatusType.INTERNAL_SERVER_ERROR),
+                HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * This method creates the service overloaded response for a request which was not admitted.
+     *
+     * @param e serviceOverloadedException
+     * @return service unavailable response with a Retry-After header
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ResponseWrapper> handleServiceOverloaded(ServiceOverloadedException e) {
+        return getServiceOverloadedResponse(e.getRetryAfterSeconds());
+    }
+
+    /**
+     * This method creates the response for a transaction which could not begin.
+     * A connection pool timeout means the database is saturated, so it is answered as overloaded.
+     *
+     * @param e cannotCreateTransactionException
+     * @return service unavailable or internal server error response
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ResponseWrapper> handleTransactionError(CannotCreateTransactionException e) {
+        if (ServiceOverloadedException.isConnectionPoolTimeout(e)) {
+            log.error("No database connection was free in time due to :{}", e.toString());
+            return getServiceOverloadedResponse(POOL_TIMEOUT_RETRY_AFTER_SECONDS);
+        }
+        log.error("Beginning a database transaction was failed.", e);
+        return getInternalServerError();
+    }
+
+    /**
+     * This method creates the service overloaded response.
+     *
+     * @param retryAfterSeconds seconds after which the request can be retried
+     * @return service unavailable response with a Retry-After header
+     */
+    protected ResponseEntity<ResponseWrapper> getServiceOverloadedResponse(long retryAfterSeconds) {
+        ResponseCodeTagsContributor.recordResponseCode(ErrorResponseStatusType.SERVICE_OVERLOADED.getCode());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(translator.getErrorResponse(ErrorResponseStatusType.SERVICE_OVERLOADED));
     }
 
     /**
@@ -62,10 +146,39 @@ public class Controller {
      * @return bad request error response
      */
     protected ResponseEntity<ResponseWrapper> getErrorResponse(ErrorResponseStatusType errorsResponseStatusType) {
-        var errorResponseWrapper = new ErrorResponseWrapper(ResponseStatusType.ERROR,
-                errorsResponseStatusType.getMessage(), null,
-                translator.toLocale(ErrorResponseStatusType.getCodeString(errorsResponseStatusType.getCode())),
-                errorsResponseStatusType.getCode());
-        return new ResponseEntity<>(errorResponseWrapper, HttpStatus.BAD_REQUEST);
+        ResponseCodeTagsContributor.recordResponseCode(errorsResponseStatusType.getCode());
+        return new ResponseEntity<>(translator.getErrorResponse(errorsResponseStatusType), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * This method creates the success response wrapper with the localized display message.
+     *
+     * @param responseDto responseDto
+     * @return success response wrapper
+     */
+    private SuccessResponseWrapper getSuccessResponseWrapper(ResponseDto responseDto,
+                                                             SuccessResponseStatusType successResponseStatusType,
+                                                             HttpStatus httpStatus) {
+        ResponseCodeTagsContributor.recordResponseCode(successResponseStatusType.getCode());
+        return new SuccessResponseWrapper(ResponseStatusType.SUCCESS,
+                successResponseStatusType, responseDto,
+                translator.getDisplayMessage(successResponseStatusType), httpStatus);
+    }
+
+    /**
+     * This method creates the ETag, Last-Modified and Vary headers of a response.
+     *
+     * @param eTag         eTag
+     * @param lastModified lastModified
+     * @return http headers
+     */
+    private HttpHeaders getValidatorHeaders(String eTag, long lastModified) {
+        var httpHeaders = new HttpHeaders();
+        httpHeaders.setETag(eTag);
+        if (lastModified > 0) {
+            httpHeaders.setLastModified(lastModified);
+        }
+        httpHeaders.setVary(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+        return httpHeaders;
     }
 }
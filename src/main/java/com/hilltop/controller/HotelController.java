@@ -1,16 +1,21 @@
 package com.hilltop.controller;
 
 import com.hilltop.configuration.Translator;
+import com.hilltop.domain.request.HotelBatchRequestDto;
 import com.hilltop.domain.request.HotelCreateRequestDto;
 import com.hilltop.domain.response.CityListResponseDto;
+import com.hilltop.domain.response.HotelBatchResponseDto;
 import com.hilltop.domain.response.HotelListPageResponseDto;
-import com.hilltop.domain.response.HotelListResponseDto;
 import com.hilltop.domain.response.HotelResponseDto;
 import com.hilltop.enums.ErrorResponseStatusType;
 import com.hilltop.enums.SuccessResponseStatusType;
 import com.hilltop.exception.HotelServiceException;
+import com.hilltop.exception.InvalidCursorException;
 import com.hilltop.exception.InvalidHotelException;
 import com.hilltop.model.Hotel;
+import com.hilltop.service.HotelBulkImportService;
+import com.hilltop.service.HotelExportService;
+import com.hilltop.service.HotelSearchService;
 import com.hilltop.service.HotelService;
 import com.hilltop.wrapper.ResponseWrapper;
 import lombok.extern.slf4j.Slf4j;
@@ -18,14 +23,23 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
+import java.io.InputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 /**
@@ -35,11 +49,27 @@ import java.util.List;
 @RequestMapping("/api/v1/hotel")
 @Slf4j
 public class HotelController extends Controller {
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    private static final int SUGGESTION_MAX_SIZE = 50;
+    private static final int HOTEL_BATCH_MAX_SIZE = 100;
+    private static final double MAX_RADIUS_KM = 100;
+    private static final double MAX_BOX_DEGREES = 2;
+    private static final Set<String> CITY_SORT_FIELDS = Set.of("name", "updatedAt");
     private final HotelService hotelService;
+    private final HotelBulkImportService hotelBulkImportService;
+    private final HotelExportService hotelExportService;
+    private final HotelSearchService hotelSearchService;
 
-    public HotelController(Translator translator, HotelService hotelService) {
+    public HotelController(Translator translator, HotelService hotelService,
+                           HotelBulkImportService hotelBulkImportService, HotelExportService hotelExportService,
+                           HotelSearchService hotelSearchService) {
         super(translator);
         this.hotelService = hotelService;
+        this.hotelBulkImportService = hotelBulkImportService;
+        this.hotelExportService = hotelExportService;
+        this.hotelSearchService = hotelSearchService;
     }
 
     /**
@@ -56,6 +86,10 @@ public class HotelController extends Controller {
                 log.error("Missing required filed to save a hotel.");
                 return getErrorResponse(ErrorResponseStatusType.MISSING_REQUIRED_FIELDS);
             }
+            if (!hotelCreateRequest.isLocationValid()) {
+                log.error("Invalid location to save a hotel.");
+                return getErrorResponse(ErrorResponseStatusType.INVALID_LOCATION);
+            }
             var hotelSaveResponseDto = hotelService.saveHotel(hotelCreateRequest);
             return getSuccessResponse(hotelSaveResponseDto, SuccessResponseStatusType.CREATE_HOTEL, HttpStatus.CREATED);
         } catch (HotelServiceException e) {
@@ -64,18 +98,44 @@ public class HotelController extends Controller {
         }
     }
 
+    /**
+     * This endpoint used to save hotels in bulk.
+     * The body is read as a stream, either a JSON array or newline delimited JSON of hotels.
+     *
+     * @param inputStream request body
+     * @return hotelBulkCreateResponseDto with a result per hotel
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ResponseWrapper> saveHotels(InputStream inputStream) {
+        try {
+            var hotelBulkCreateResponseDto = hotelBulkImportService.importHotels(inputStream);
+            return getSuccessResponse(hotelBulkCreateResponseDto, SuccessResponseStatusType.BULK_CREATE_HOTEL,
+                    HttpStatus.OK);
+        } catch (HotelServiceException e) {
+            log.error("Saving hotels in bulk was failed.", e);
+            return getInternalServerError();
+        }
+    }
+
     /**
      * This endpoint used to get hotel by id.
+     * Responds with 304 when the If-None-Match or If-Modified-Since header matches the hotel version.
      *
-     * @param id hotel id
+     * @param id         hotel id
+     * @param webRequest webRequest
      * @return hotelResponseDto
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ResponseWrapper> getHotel(@PathVariable String id) {
+    public ResponseEntity<ResponseWrapper> getHotel(@PathVariable String id, WebRequest webRequest) {
         try {
             var hotel = hotelService.getHotelById(id);
+            var eTag = generateETag(hotel.getId(), Long.toString(hotel.getUpdatedAt()));
+            if (webRequest.checkNotModified(eTag, hotel.getUpdatedAt())) {
+                return getNotModifiedResponse(eTag, hotel.getUpdatedAt());
+            }
             var hotelResponseDto = new HotelResponseDto(hotel);
-            return getSuccessResponse(hotelResponseDto, SuccessResponseStatusType.READ_HOTEL, HttpStatus.OK);
+            return getSuccessResponse(hotelResponseDto, SuccessResponseStatusType.READ_HOTEL, HttpStatus.OK,
+                    eTag, hotel.getUpdatedAt());
         } catch (InvalidHotelException e) {
             log.error("Invalid hotel id to get hotel details.");
             return getErrorResponse(ErrorResponseStatusType.INVALID_HOTEL_ID);
@@ -85,25 +145,129 @@ public class HotelController extends Controller {
         }
     }
 
+    /**
+     * This endpoint used to get hotels by a list of ids in one call.
+     * Ids are posted in the body, since a full batch does not fit a url. Duplicate ids are returned once
+     * and ids without a hotel are returned as missing ids.
+     *
+     * @param hotelBatchRequest hotelBatchRequest
+     * @return hotelBatchResponseDto
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ResponseWrapper> getHotelBatch(@RequestBody HotelBatchRequestDto hotelBatchRequest) {
+        try {
+            if (!hotelBatchRequest.isRequiredAvailable()) {
+                log.error("Missing hotel ids to get hotels by ids.");
+                return getErrorResponse(ErrorResponseStatusType.MISSING_REQUIRED_FIELDS);
+            }
+            var ids = hotelBatchRequest.getIds().stream().distinct().collect(Collectors.toList());
+            if (ids.size() > HOTEL_BATCH_MAX_SIZE) {
+                log.error("Too many hotel ids: {} to get hotels by ids.", ids.size());
+                return getErrorResponse(ErrorResponseStatusType.HOTEL_BATCH_TOO_LARGE);
+            }
+            var hotels = hotelService.getHotelsByIds(ids);
+            List<HotelResponseDto> hotelResponseDtoList = new ArrayList<>(hotels.size());
+            List<String> missingIds = new ArrayList<>();
+            for (var id : ids) {
+                var hotel = hotels.get(id);
+                if (hotel == null) {
+                    missingIds.add(id);
+                } else {
+                    hotelResponseDtoList.add(new HotelResponseDto(hotel));
+                }
+            }
+            return getSuccessResponse(new HotelBatchResponseDto(hotelResponseDtoList, missingIds),
+                    SuccessResponseStatusType.READ_HOTEL_BATCH, HttpStatus.OK);
+        } catch (HotelServiceException e) {
+            log.error("Returning hotels by ids was failed.", e);
+            return getInternalServerError();
+        }
+    }
+
     /**
      * This endpoint used to get hotel list.
+     * Responds with 304 when the If-None-Match header matches the digest of the page.
      *
+     * @param webRequest webRequest
      * @return hotelListResponseDto
      */
     @GetMapping("")
     public ResponseEntity<ResponseWrapper> getHotelList(@Min(DEFAULT_PAGE) @RequestParam int page,
-                                                        @Positive @Max(PAGE_MAX_SIZE) @RequestParam int size) {
+                                                        @Positive @Max(PAGE_MAX_SIZE) @RequestParam int size,
+                                                        WebRequest webRequest) {
         try {
             Pageable pageable = PageRequest.of(page, size, Sort.by(DEFAULT_SORT).descending());
             Page<Hotel> allHotelPage = hotelService.getAllHotel(pageable);
+            var eTag = generateETag(getPageDigestParts(allHotelPage));
+            var lastModified = allHotelPage.getContent().stream().mapToLong(Hotel::getUpdatedAt).max().orElse(-1);
+            if (webRequest.checkNotModified(eTag)) {
+                return getNotModifiedResponse(eTag, lastModified);
+            }
             var hotelListPageResponseDto = new HotelListPageResponseDto(allHotelPage);
-            return getSuccessResponse(hotelListPageResponseDto, SuccessResponseStatusType.READ_HOTEL_LIST, HttpStatus.OK);
+            return getSuccessResponse(hotelListPageResponseDto, SuccessResponseStatusType.READ_HOTEL_LIST, HttpStatus.OK,
+                    eTag, lastModified);
         } catch (HotelServiceException e) {
             log.error("Returning hotel list was failed.", e);
             return getInternalServerError();
         }
     }
 
+    /**
+     * This endpoint used to get hotel list with a cursor instead of a page number.
+     * The total item count is only calculated when it is requested.
+     *
+     * @param cursor    nextCursor of the previous response, empty for the first page
+     * @param size      page size
+     * @param withCount true to return the total item count
+     * @return hotelListCursorResponseDto
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<ResponseWrapper> getHotelListByCursor(@RequestParam(required = false) String cursor,
+                                                                @Positive @Max(PAGE_MAX_SIZE) @RequestParam int size,
+                                                                @RequestParam(defaultValue = "false") boolean withCount) {
+        try {
+            var hotelListCursorResponseDto = hotelService.getHotelListByCursor(cursor, getPageSize(size), withCount);
+            return getSuccessResponse(hotelListCursorResponseDto, SuccessResponseStatusType.READ_HOTEL_LIST, HttpStatus.OK);
+        } catch (InvalidCursorException e) {
+            log.error("Invalid cursor to get hotel list.");
+            return getErrorResponse(ErrorResponseStatusType.INVALID_CURSOR);
+        } catch (HotelServiceException e) {
+            log.error("Returning hotel list by cursor was failed.", e);
+            return getInternalServerError();
+        }
+    }
+
+    /**
+     * This endpoint used to export all hotels as newline delimited JSON.
+     * Hotels are written to the response while they are read from the database.
+     *
+     * @param city city to filter, all cities when empty
+     * @param gzip true to gzip the response body
+     * @return streaming response body
+     */
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHotels(@RequestParam(required = false) String city,
+                                                              @RequestParam(defaultValue = "false") boolean gzip) {
+        var cityFilter = city == null || city.isEmpty() ? null : city;
+        StreamingResponseBody streamingResponseBody = outputStream -> {
+            try {
+                if (gzip) {
+                    hotelExportService.exportHotels(cityFilter, new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE));
+                } else {
+                    hotelExportService.exportHotels(cityFilter, outputStream);
+                }
+            } catch (HotelServiceException e) {
+                log.error("Exporting hotels was failed.", e);
+                throw e;
+            }
+        };
+        var responseBuilder = ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE));
+        if (gzip) {
+            responseBuilder.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+        return responseBuilder.body(streamingResponseBody);
+    }
+
     /**
      * This endpoint used to update a hotel by id.
      *
@@ -119,6 +283,10 @@ public class HotelController extends Controller {
                 log.error("Missing required filed to save a hotel.");
                 return getErrorResponse(ErrorResponseStatusType.MISSING_REQUIRED_FIELDS);
             }
+            if (!hotelCreateRequest.isLocationValid()) {
+                log.error("Invalid location to save a hotel.");
+                return getErrorResponse(ErrorResponseStatusType.INVALID_LOCATION);
+            }
             var hotel = hotelService.updateHotel(id, hotelCreateRequest);
             var hotelResponseDto = new HotelResponseDto(hotel);
             return getSuccessResponse(hotelResponseDto, SuccessResponseStatusType.UPDATE_HOTEL, HttpStatus.OK);
@@ -169,20 +337,237 @@ public class HotelController extends Controller {
     }
 
     /**
-     * This endpoint used to get hotelsByCity.
+     * This endpoint used to search hotels by name, description, city and address.
+     * Every query term must match a word or word prefix, results are ranked and paged.
      *
-     * @param city city
-     * @return hotelListResponseDto
+     * @param q    query text
+     * @param city city filter
+     * @param page page number
+     * @param size page size
+     * @return hotelSearchResponseDto
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ResponseWrapper> searchHotels(@RequestParam(required = false) String q,
+                                                        @RequestParam(required = false) String city,
+                                                        @Min(DEFAULT_PAGE) @RequestParam(defaultValue = "0") int page,
+                                                        @Positive @Max(PAGE_MAX_SIZE)
+                                                        @RequestParam(defaultValue = "20") int size) {
+        if (q == null || q.isBlank()) {
+            log.error("Missing query to search hotels.");
+            return getErrorResponse(ErrorResponseStatusType.MISSING_REQUIRED_FIELDS);
+        }
+        var hotelSearchResponseDto = hotelSearchService.searchHotels(q, city, Math.max(page, 0), getPageSize(size));
+        return getSuccessResponse(hotelSearchResponseDto, SuccessResponseStatusType.SEARCH_HOTELS, HttpStatus.OK);
+    }
+
+    /**
+     * This endpoint used to suggest hotel names and cities while the user types.
+     * Suggestions start with the prefix and are ranked by the number of hotels behind them.
+     *
+     * @param prefix typed prefix
+     * @param size   maximum number of names and of cities
+     * @return hotelSuggestionResponseDto
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ResponseWrapper> suggestHotels(@RequestParam(required = false) String prefix,
+                                                         @Positive @Max(SUGGESTION_MAX_SIZE)
+                                                         @RequestParam(defaultValue = "10") int size) {
+        if (prefix == null || prefix.isBlank()) {
+            log.error("Missing prefix to suggest hotels.");
+            return getErrorResponse(ErrorResponseStatusType.MISSING_REQUIRED_FIELDS);
+        }
+        var hotelSuggestionResponseDto = hotelSearchService.suggest(prefix, size);
+        return getSuccessResponse(hotelSuggestionResponseDto, SuccessResponseStatusType.READ_HOTEL_SUGGESTIONS,
+                HttpStatus.OK);
+    }
+
+    /**
+     * This endpoint used to get the hotels within a radius of a point, nearest first.
+     *
+     * @param lat      latitude of the point
+     * @param lon      longitude of the point
+     * @param radiusKm radius in kilometres
+     * @param page     page number
+     * @param size     page size
+     * @return hotelGeoSearchResponseDto
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<ResponseWrapper> getHotelsNearby(@RequestParam(required = false) Double lat,
+                                                           @RequestParam(required = false) Double lon,
+                                                           @RequestParam(defaultValue = "5") double radiusKm,
+                                                           @Min(DEFAULT_PAGE) @RequestParam(defaultValue = "0") int page,
+                                                           @Positive @Max(PAGE_MAX_SIZE)
+                                                           @RequestParam(defaultValue = "20") int size) {
+        if (lat == null || lon == null) {
+            log.error("Missing location to get hotels nearby.");
+            return getErrorResponse(ErrorResponseStatusType.MISSING_REQUIRED_FIELDS);
+        }
+        if (!isValidPoint(lat, lon) || !(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            log.error("Invalid location to get hotels nearby.");
+            return getErrorResponse(ErrorResponseStatusType.INVALID_LOCATION);
+        }
+        var hotelGeoSearchResponseDto = hotelSearchService.findNearby(lat, lon, radiusKm, Math.max(page, 0),
+                getPageSize(size));
+        return getSuccessResponse(hotelGeoSearchResponseDto, SuccessResponseStatusType.SEARCH_HOTELS_BY_LOCATION,
+                HttpStatus.OK);
+    }
+
+    /**
+     * This endpoint used to get the hotels nearest to a point, at most MAX_RADIUS_KM away.
+     *
+     * @param lat   latitude of the point
+     * @param lon   longitude of the point
+     * @param count number of hotels
+     * @return hotelGeoSearchResponseDto
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<ResponseWrapper> getNearestHotels(@RequestParam(required = false) Double lat,
+                                                            @RequestParam(required = false) Double lon,
+                                                            @Positive @Max(PAGE_MAX_SIZE)
+                                                            @RequestParam(defaultValue = "10") int count) {
+        if (lat == null || lon == null) {
+            log.error("Missing location to get nearest hotels.");
+            return getErrorResponse(ErrorResponseStatusType.MISSING_REQUIRED_FIELDS);
+        }
+        if (!isValidPoint(lat, lon)) {
+            log.error("Invalid location to get nearest hotels.");
+            return getErrorResponse(ErrorResponseStatusType.INVALID_LOCATION);
+        }
+        var hotelGeoSearchResponseDto = hotelSearchService.findNearest(lat, lon, getPageSize(count), MAX_RADIUS_KM);
+        return getSuccessResponse(hotelGeoSearchResponseDto, SuccessResponseStatusType.SEARCH_HOTELS_BY_LOCATION,
+                HttpStatus.OK);
+    }
+
+    /**
+     * This endpoint used to get the hotels inside a bounding box, nearest to the box centre first.
+     * A box with minLon greater than maxLon crosses the antimeridian. A box may span at most MAX_BOX_DEGREES
+     * of latitude and of longitude.
+     *
+     * @param minLat southern edge
+     * @param minLon western edge
+     * @param maxLat northern edge
+     * @param maxLon eastern edge
+     * @param page   page number
+     * @param size   page size
+     * @return hotelGeoSearchResponseDto
+     */
+    @GetMapping("/within")
+    public ResponseEntity<ResponseWrapper> getHotelsWithinBox(@RequestParam(required = false) Double minLat,
+                                                              @RequestParam(required = false) Double minLon,
+                                                              @RequestParam(required = false) Double maxLat,
+                                                              @RequestParam(required = false) Double maxLon,
+                                                              @Min(DEFAULT_PAGE) @RequestParam(defaultValue = "0") int page,
+                                                              @Positive @Max(PAGE_MAX_SIZE)
+                                                              @RequestParam(defaultValue = "20") int size) {
+        if (minLat == null || minLon == null || maxLat == null || maxLon == null) {
+            log.error("Missing bounding box to get hotels.");
+            return getErrorResponse(ErrorResponseStatusType.MISSING_REQUIRED_FIELDS);
+        }
+        if (!isValidPoint(minLat, minLon) || !isValidPoint(maxLat, maxLon) || minLat > maxLat
+                || maxLat - minLat > MAX_BOX_DEGREES || getLongitudeSpan(minLon, maxLon) > MAX_BOX_DEGREES) {
+            log.error("Invalid bounding box to get hotels.");
+            return getErrorResponse(ErrorResponseStatusType.INVALID_LOCATION);
+        }
+        var hotelGeoSearchResponseDto = hotelSearchService.findWithinBox(minLat, minLon, maxLat, maxLon,
+                Math.max(page, 0), getPageSize(size));
+        return getSuccessResponse(hotelGeoSearchResponseDto, SuccessResponseStatusType.SEARCH_HOTELS_BY_LOCATION,
+                HttpStatus.OK);
+    }
+
+    /**
+     * This endpoint used to get a page of hotelsByCity.
+     * Hotels are sorted by name or updatedAt, both served by an index on city.
+     *
+     * @param city      city
+     * @param page      page number
+     * @param size      page size
+     * @param sort      name or updatedAt
+     * @param direction asc or desc
+     * @return hotelListPageResponseDto
      */
     @GetMapping("city/{city}")
-    public ResponseEntity<ResponseWrapper> getHotelsByCity(@RequestParam String city) {
+    public ResponseEntity<ResponseWrapper> getHotelsByCity(@PathVariable String city,
+                                                           @Min(DEFAULT_PAGE) @RequestParam(defaultValue = "0") int page,
+                                                           @Positive @Max(PAGE_MAX_SIZE)
+                                                           @RequestParam(defaultValue = "50") int size,
+                                                           @RequestParam(defaultValue = "name") String sort,
+                                                           @RequestParam(defaultValue = "asc") String direction) {
         try {
-            var hotelsByCity = hotelService.getHotelsByCity(city);
-            var hotelListResponseDto = new HotelListResponseDto(hotelsByCity);
-            return getSuccessResponse(hotelListResponseDto, SuccessResponseStatusType.READ_HOTELS_BY_CITY, HttpStatus.OK);
+            var sortDirection = Sort.Direction.fromOptionalString(direction);
+            if (!CITY_SORT_FIELDS.contains(sort) || sortDirection.isEmpty()) {
+                log.error("Invalid sort: {} {} to get hotels by city.", sort, direction);
+                return getErrorResponse(ErrorResponseStatusType.INVALID_SORT);
+            }
+            var pageable = PageRequest.of(Math.max(page, 0), getPageSize(size),
+                    Sort.by(sortDirection.get(), sort, "id"));
+            var hotelListPageResponseDto = new HotelListPageResponseDto(hotelService.getHotelsByCity(city, pageable));
+            return getSuccessResponse(hotelListPageResponseDto, SuccessResponseStatusType.READ_HOTELS_BY_CITY,
+                    HttpStatus.OK);
         } catch (HotelServiceException e) {
             log.error("Getting hotel cities was failed.", e);
             return getInternalServerError();
         }
     }
+
+    /**
+     * This endpoint used to stream all hotels of a city as newline delimited JSON, ordered by id.
+     * Selected by an Accept header of application/x-ndjson, it shares the export query.
+     *
+     * @param city city
+     * @param gzip true to gzip the response body
+     * @return streaming response body
+     */
+    @GetMapping(value = "city/{city}", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamHotelsByCity(@PathVariable String city,
+                                                                    @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportHotels(city, gzip);
+    }
+
+    /**
+     * This method returns the parts which identify a hotel page representation.
+     * Any created, updated or deleted hotel in the page changes the parts.
+     *
+     * @param hotelPage hotelPage
+     * @return digest parts
+     */
+    private String[] getPageDigestParts(Page<Hotel> hotelPage) {
+        var parts = new ArrayList<String>(hotelPage.getNumberOfElements() + 3);
+        parts.add(Integer.toString(hotelPage.getNumber()));
+        parts.add(Integer.toString(hotelPage.getSize()));
+        parts.add(Long.toString(hotelPage.getTotalElements()));
+        hotelPage.getContent().forEach(hotel -> parts.add(hotel.getId() + "@" + hotel.getUpdatedAt()));
+        return parts.toArray(new String[0]);
+    }
+
+    /**
+     * This method checks a coordinate is within the latitude and longitude ranges.
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @return true/ false
+     */
+    private boolean isValidPoint(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    /**
+     * This method returns the longitude span of a bounding box, including a box crossing the antimeridian.
+     *
+     * @param minLongitude western edge
+     * @param maxLongitude eastern edge
+     * @return span in degrees
+     */
+    private double getLongitudeSpan(double minLongitude, double maxLongitude) {
+        return maxLongitude < minLongitude ? maxLongitude + 360 - minLongitude : maxLongitude - minLongitude;
+    }
+
+    /**
+     * This method limits a requested page size to 1..PAGE_MAX_SIZE.
+     *
+     * @param size requested page size
+     * @return page size
+     */
+    private int getPageSize(int size) {
+        return Math.min(Math.max(size, 1), PAGE_MAX_SIZE);
+    }
 }
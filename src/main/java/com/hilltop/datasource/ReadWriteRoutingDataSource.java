@@ -0,0 +1,236 @@
+package com.hilltop.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Routes connections of read-only transactions to a healthy replica and all other connections to the primary.
+ * Replicas are used round robin. A replica which cannot be connected to is ejected and the read falls back
+ * to the primary until a health check admits the replica again. A replica which is only busy, so that no
+ * connection of its pool was free in time, is kept and just that read falls back to the primary.
+ * <p>
+ * The read-only flag of a transaction is only known after the transaction has begun, so this data source has to
+ * be wrapped in a LazyConnectionDataSourceProxy.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements MeterBinder, Closeable {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final int validationTimeoutSeconds;
+    private Counter primaryConnections;
+    private Counter replicaConnections;
+    private Counter replicaEjections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, int validationTimeoutSeconds) {
+        this.primary = primary;
+        for (var i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + i, replicas.get(i)));
+        }
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    /**
+     * This method runs the given supplier with all its connections taken from the primary.
+     * It is used for reads which must see a write made moments ago.
+     *
+     * @param supplier supplier
+     * @param <T>      result type
+     * @return result of the supplier
+     */
+    public static <T> T onPrimary(Supplier<T> supplier) {
+        var previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_FORCED.remove();
+            } else {
+                PRIMARY_FORCED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * This method returns whether the current thread is forced to the primary.
+     *
+     * @return true inside onPrimary
+     */
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var replica = selectReplica();
+        if (replica != null) {
+            try {
+                var connection = replica.dataSource.getConnection();
+                increment(replicaConnections);
+                return connection;
+            } catch (SQLException e) {
+                onReplicaFailure(replica, e);
+            }
+        }
+        increment(primaryConnections);
+        return primary.getConnection();
+    }
+
+    /**
+     * This method returns a primary connection with the given credentials.
+     * Replicas share the credentials of the primary, so explicit credentials are never routed to a replica.
+     *
+     * @param username database user
+     * @param password database password
+     * @return primary connection
+     * @throws SQLException when the primary does not give a connection
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        increment(primaryConnections);
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * This method validates every replica and admits or ejects it.
+     */
+    public void checkReplicas() {
+        for (var replica : replicas) {
+            try (var connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(validationTimeoutSeconds)) {
+                    throw new SQLException("Connection validation timed out.");
+                }
+                if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Admitted database replica: {} after a successful health check.", replica.name);
+                }
+            } catch (SQLException e) {
+                onReplicaFailure(replica, e);
+            }
+        }
+    }
+
+    /**
+     * This method returns the number of replicas which currently serve reads.
+     *
+     * @return healthy replica count
+     */
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        primaryConnections = Counter.builder("hotel.datasource.connections").tag("target", "primary")
+                .description("Connections taken by target database").register(registry);
+        replicaConnections = Counter.builder("hotel.datasource.connections").tag("target", "replica")
+                .description("Connections taken by target database").register(registry);
+        replicaEjections = Counter.builder("hotel.datasource.replica.ejections")
+                .description("Replicas ejected after a failed connection or health check").register(registry);
+        Gauge.builder("hotel.datasource.replicas.healthy", this, ReadWriteRoutingDataSource::getHealthyReplicaCount)
+                .description("Replicas which currently serve reads").register(registry);
+        for (var replica : replicas) {
+            if (replica.dataSource instanceof HikariDataSource) {
+                var hikariDataSource = (HikariDataSource) replica.dataSource;
+                if (hikariDataSource.getMetricsTrackerFactory() == null) {
+                    hikariDataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (var replica : replicas) {
+            if (replica.dataSource instanceof Closeable) {
+                try {
+                    ((Closeable) replica.dataSource).close();
+                } catch (Exception e) {
+                    log.error("Closing database replica: {} was failed due to :{}", replica.name, e.toString());
+                }
+            }
+        }
+    }
+
+    private Replica selectReplica() {
+        if (replicas.isEmpty() || isPrimaryForced() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        var start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (var i = 0; i < replicas.size(); i++) {
+            var replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void onReplicaFailure(Replica replica, SQLException e) {
+        if (isConnectionFailure(e)) {
+            eject(replica, e);
+        } else {
+            log.warn("No connection of database replica: {} was free in time due to :{}", replica.name, e.toString());
+        }
+    }
+
+    /**
+     * This method returns whether a replica could not be connected to, rather than having no free pooled connection.
+     * A pool timeout carries the last failure to connect as its cause when the replica cannot be reached.
+     *
+     * @param e failure to get a connection
+     * @return true if the replica should be ejected
+     */
+    private static boolean isConnectionFailure(SQLException e) {
+        return !(e instanceof SQLTransientConnectionException) || e.getCause() != null;
+    }
+
+    private void eject(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            increment(replicaEjections);
+            log.error("Ejected database replica: {} due to :{}", replica.name, e.toString());
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Replica data source and its health.
+     */
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
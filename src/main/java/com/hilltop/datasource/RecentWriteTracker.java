@@ -0,0 +1,77 @@
+package com.hilltop.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers hotels and cities written within the read-your-writes window.
+ * Reads of them are sent to the primary, so a replica which has not caught up yet cannot hide a write from the
+ * client which made it, or put a stale hotel into the hotel cache.
+ */
+@Component
+public class RecentWriteTracker {
+
+    private static final String HOTEL_KEY_PREFIX = "hotel:";
+    private static final String CITY_KEY_PREFIX = "city:";
+
+    private final Cache<String, Boolean> recentWrites;
+    private final AtomicLong lastWriteAt = new AtomicLong(Long.MIN_VALUE);
+    private final long windowNanos;
+
+    public RecentWriteTracker(@Value("${hotel.datasource.read-your-writes-window:2s}") Duration window) {
+        this.windowNanos = window.toNanos();
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * This method records a write of a hotel and of the cities it was and is listed under.
+     *
+     * @param hotelId hotel id
+     * @param cities  cities
+     */
+    public void recordWrite(String hotelId, String... cities) {
+        recentWrites.put(HOTEL_KEY_PREFIX + hotelId, Boolean.TRUE);
+        for (var city : cities) {
+            recentWrites.put(CITY_KEY_PREFIX + city, Boolean.TRUE);
+        }
+        lastWriteAt.set(System.nanoTime());
+    }
+
+    /**
+     * This method returns whether the hotel was written within the window.
+     *
+     * @param hotelId hotel id
+     * @return true if recently written
+     */
+    public boolean isHotelRecentlyWritten(String hotelId) {
+        return recentWrites.getIfPresent(HOTEL_KEY_PREFIX + hotelId) != null;
+    }
+
+    /**
+     * This method returns whether a hotel of the city was written within the window.
+     *
+     * @param city city
+     * @return true if recently written
+     */
+    public boolean isCityRecentlyWritten(String city) {
+        return recentWrites.getIfPresent(CITY_KEY_PREFIX + city) != null;
+    }
+
+    /**
+     * This method returns whether any hotel was written within the window.
+     *
+     * @return true if recently written
+     */
+    public boolean isAnyRecentlyWritten() {
+        var writtenAt = lastWriteAt.get();
+        return writtenAt != Long.MIN_VALUE && System.nanoTime() - writtenAt < windowNanos;
+    }
+}
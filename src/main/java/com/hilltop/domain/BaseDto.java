@@ -1,8 +1,7 @@
 package com.hilltop.domain;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.hilltop.exception.HotelServiceException;
+import com.hilltop.domain.json.JsonWriters;
+import com.hilltop.domain.json.LazyLogJson;
 
 import java.io.Serializable;
 
@@ -17,11 +16,7 @@ public interface BaseDto extends Serializable {
      * @return json string
      */
     default String toJson() {
-        try {
-            return new ObjectMapper().writeValueAsString(this);
-        } catch (JsonProcessingException e) {
-            throw new HotelServiceException("Object to json conversion was failed.", e);
-        }
+        return JsonWriters.toJson(this);
     }
 
     /**
@@ -32,4 +27,13 @@ public interface BaseDto extends Serializable {
      */
     String toLogJson();
 
+    /**
+     * This method returns a log argument which converts object to log json only when the message is logged.
+     *
+     * @return log argument
+     */
+    default Object toLazyLogJson() {
+        return new LazyLogJson(this);
+    }
+
 }
\ No newline at end of file
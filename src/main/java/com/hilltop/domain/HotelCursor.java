@@ -0,0 +1,57 @@
+package com.hilltop.domain;
+
+import com.hilltop.exception.InvalidCursorException;
+import com.hilltop.model.Hotel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in the hotel list ordered by (updatedAt, id) descending.
+ */
+@Getter
+@AllArgsConstructor
+public class HotelCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final long updatedAt;
+    private final String id;
+
+    public HotelCursor(Hotel hotel) {
+        this.updatedAt = hotel.getUpdatedAt();
+        this.id = hotel.getId();
+    }
+
+    /**
+     * This method decodes a cursor token.
+     *
+     * @param token cursor token
+     * @return hotel cursor
+     */
+    public static HotelCursor decode(String token) {
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separatorIndex = value.indexOf(SEPARATOR);
+            if (separatorIndex <= 0 || separatorIndex == value.length() - 1) {
+                throw new InvalidCursorException("Invalid page cursor: " + token);
+            }
+            return new HotelCursor(Long.parseLong(value.substring(0, separatorIndex)),
+                    value.substring(separatorIndex + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + token);
+        }
+    }
+
+    /**
+     * This method encodes the cursor into an url safe token.
+     *
+     * @return cursor token
+     */
+    public String encode() {
+        var value = updatedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+package com.hilltop.domain.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.hilltop.cache.HotelJsonFragmentCache;
+import com.hilltop.domain.response.HotelResponseDto;
+
+import java.io.IOException;
+
+/**
+ * Writes hotel responses from the json fragment cache.
+ * A hotel is serialized once per version and the cached json is copied into every response which carries it,
+ * so a page of unchanged hotels is mostly a sequence of byte copies. Hotels without a version, and generators
+ * which do not write plain compact json, are serialized as usual.
+ */
+public class HotelJsonFragmentModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public HotelJsonFragmentModule(HotelJsonFragmentCache hotelJsonFragmentCache) {
+        super("HotelJsonFragmentModule");
+        setSerializerModifier(new HotelJsonFragmentModifier(hotelJsonFragmentCache));
+    }
+
+    /**
+     * Wraps the bean serializer of HotelResponseDto with the fragment serializer.
+     */
+    private static class HotelJsonFragmentModifier extends BeanSerializerModifier {
+
+        private final transient HotelJsonFragmentCache hotelJsonFragmentCache;
+
+        HotelJsonFragmentModifier(HotelJsonFragmentCache hotelJsonFragmentCache) {
+            this.hotelJsonFragmentCache = hotelJsonFragmentCache;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                  JsonSerializer<?> serializer) {
+            if (beanDesc.getBeanClass() == HotelResponseDto.class) {
+                return new HotelJsonFragmentSerializer((JsonSerializer<Object>) serializer, hotelJsonFragmentCache);
+            }
+            return serializer;
+        }
+    }
+
+    /**
+     * Writes the cached json of a hotel version, serializing and caching it first on a miss.
+     */
+    private static class HotelJsonFragmentSerializer extends StdSerializer<HotelResponseDto>
+            implements ResolvableSerializer {
+
+        private static final long serialVersionUID = 1L;
+        private static final JsonFactory FRAGMENT_JSON_FACTORY = new JsonFactory();
+        private static final int FRAGMENT_BUFFER_SIZE = 512;
+
+        private final transient JsonSerializer<Object> beanSerializer;
+        private final transient HotelJsonFragmentCache hotelJsonFragmentCache;
+
+        HotelJsonFragmentSerializer(JsonSerializer<Object> beanSerializer,
+                                    HotelJsonFragmentCache hotelJsonFragmentCache) {
+            super(HotelResponseDto.class);
+            this.beanSerializer = beanSerializer;
+            this.hotelJsonFragmentCache = hotelJsonFragmentCache;
+        }
+
+        @Override
+        public void serialize(HotelResponseDto value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            if (value.getId() == null || value.getUpdatedAt() == 0 || !isCompactJson(gen)) {
+                beanSerializer.serialize(value, gen, provider);
+                return;
+            }
+            var fragment = hotelJsonFragmentCache.get(value.getId(), value.getUpdatedAt());
+            if (fragment == null) {
+                var buffer = new ByteArrayBuilder(FRAGMENT_BUFFER_SIZE);
+                try (var fragmentGenerator = FRAGMENT_JSON_FACTORY.createGenerator(buffer, JsonEncoding.UTF8)) {
+                    beanSerializer.serialize(value, fragmentGenerator, provider);
+                }
+                fragment = hotelJsonFragmentCache.put(value.getId(), value.getUpdatedAt(), buffer.toByteArray());
+            }
+            gen.writeRawValue(fragment);
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (beanSerializer instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) beanSerializer).resolve(provider);
+            }
+        }
+
+        private static boolean isCompactJson(JsonGenerator gen) {
+            return gen instanceof JsonGeneratorImpl && gen.getPrettyPrinter() == null
+                    && gen.getCharacterEscapes() == null
+                    && !gen.isEnabled(JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature());
+        }
+    }
+}
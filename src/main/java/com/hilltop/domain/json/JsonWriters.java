@@ -0,0 +1,126 @@
+package com.hilltop.domain.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.hilltop.exception.HotelServiceException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Shared json writers of DTOs.
+ * ObjectMappers are expensive to create and keep their serializer caches, so one mapper is built for plain json
+ * and one for log json, and the ObjectWriter of each DTO type is cached.
+ */
+public final class JsonWriters {
+
+    private static final int VISIBLE_TELEPHONE_DIGITS = 4;
+    private static final char MASK = '*';
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper LOG_JSON_MAPPER = new ObjectMapper()
+            .registerModule(new SimpleModule("LogMaskingModule").setSerializerModifier(new LogMaskingModifier()));
+    private static final ClassValue<ObjectWriter> JSON_WRITERS = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return JSON_MAPPER.writerFor(type);
+        }
+    };
+    private static final ClassValue<ObjectWriter> LOG_JSON_WRITERS = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return LOG_JSON_MAPPER.writerFor(type);
+        }
+    };
+
+    private JsonWriters() {
+    }
+
+    /**
+     * This method converts object to json string.
+     *
+     * @param value object
+     * @return json string
+     */
+    public static String toJson(Object value) {
+        return write(JSON_WRITERS.get(value.getClass()), value);
+    }
+
+    /**
+     * This method converts object to json string with @LogMasked fields obfuscated.
+     *
+     * @param value object
+     * @return json string
+     */
+    public static String toLogJson(Object value) {
+        return write(LOG_JSON_WRITERS.get(value.getClass()), value);
+    }
+
+    /**
+     * This method masks a PII value. Email keeps the first character and the domain,
+     * other values keep the last four characters.
+     *
+     * @param value PII value
+     * @return masked value
+     */
+    static String mask(String value) {
+        var chars = value.toCharArray();
+        var at = value.indexOf('@');
+        int from = at > 0 ? 1 : 0;
+        int to = at > 0 ? at : Math.max(0, chars.length - VISIBLE_TELEPHONE_DIGITS);
+        for (int i = from; i < to; i++) {
+            chars[i] = MASK;
+        }
+        return new String(chars);
+    }
+
+    private static String write(ObjectWriter objectWriter, Object value) {
+        try {
+            return objectWriter.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new HotelServiceException("Object to json conversion was failed.", e);
+        }
+    }
+
+    /**
+     * Replaces the serializer of @LogMasked properties with the masking serializer.
+     */
+    private static class LogMaskingModifier extends BeanSerializerModifier {
+
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                         List<BeanPropertyWriter> beanProperties) {
+            for (var beanProperty : beanProperties) {
+                if (beanProperty.getAnnotation(LogMasked.class) != null) {
+                    beanProperty.assignSerializer(MaskingSerializer.INSTANCE);
+                }
+            }
+            return beanProperties;
+        }
+    }
+
+    /**
+     * Writes the masked string value of a property.
+     */
+    private static class MaskingSerializer extends StdSerializer<Object> {
+
+        private static final MaskingSerializer INSTANCE = new MaskingSerializer();
+
+        private MaskingSerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString(mask(value.toString()));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.hilltop.domain.json;
+
+import com.hilltop.domain.BaseDto;
+
+/**
+ * Log argument which produces the log json of a DTO only when the log message is formatted.
+ */
+public final class LazyLogJson {
+
+    private final BaseDto baseDto;
+
+    public LazyLogJson(BaseDto baseDto) {
+        this.baseDto = baseDto;
+    }
+
+    @Override
+    public String toString() {
+        return baseDto.toLogJson();
+    }
+}
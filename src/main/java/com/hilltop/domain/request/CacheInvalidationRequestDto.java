@@ -0,0 +1,29 @@
+package com.hilltop.domain.request;
+
+import com.hilltop.domain.json.JsonWriters;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CacheInvalidationRequestDto
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheInvalidationRequestDto extends RequestDto {
+
+    private List<String> hotelIds = new ArrayList<>();
+    private boolean cities;
+    private boolean reset;
+
+    @Override
+    public String toLogJson() {
+        return JsonWriters.toLogJson(this);
+    }
+}
@@ -0,0 +1,32 @@
+package com.hilltop.domain.request;
+
+import com.hilltop.domain.json.JsonWriters;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HotelBatchRequestDto
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class HotelBatchRequestDto extends RequestDto {
+
+    private List<String> ids = new ArrayList<>();
+
+    @Override
+    public boolean isRequiredAvailable() {
+        return ids != null && !ids.isEmpty() && ids.stream().allMatch(this::isNonEmpty);
+    }
+
+    @Override
+    public String toLogJson() {
+        return JsonWriters.toLogJson(this);
+    }
+}
@@ -1,5 +1,8 @@
 package com.hilltop.domain.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.hilltop.domain.json.JsonWriters;
+import com.hilltop.domain.json.LogMasked;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -16,18 +19,36 @@ public class HotelCreateRequestDto extends RequestDto {
     private String description;
     private String city;
     private String address;
+    private Double latitude;
+    private Double longitude;
+    @LogMasked
     private String telephone;
+    @LogMasked
     private String email;
     private List<String> imageUrl;
 
 
     @Override
     public String toLogJson() {
-        return toJson();
+        return JsonWriters.toLogJson(this);
     }
 
     @Override
     public boolean isRequiredAvailable() {
         return isNonEmpty(name) && isNonEmpty(city) && isNonEmpty(telephone) && isNonEmpty(address);
     }
+
+    /**
+     * This method checks the location is either absent or a complete and valid coordinate.
+     *
+     * @return true/ false
+     */
+    @JsonIgnore
+    public boolean isLocationValid() {
+        if (latitude == null && longitude == null) {
+            return true;
+        }
+        return latitude != null && longitude != null && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
 }
@@ -0,0 +1,20 @@
+package com.hilltop.domain.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * HotelBatchResponseDto
+ */
+@Getter
+public class HotelBatchResponseDto extends ResponseDto {
+
+    private final List<HotelResponseDto> hotelResponseDto;
+    private final List<String> missingIds;
+
+    public HotelBatchResponseDto(List<HotelResponseDto> hotelResponseDto, List<String> missingIds) {
+        this.hotelResponseDto = hotelResponseDto;
+        this.missingIds = missingIds;
+    }
+}
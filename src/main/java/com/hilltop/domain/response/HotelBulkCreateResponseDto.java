@@ -0,0 +1,22 @@
+package com.hilltop.domain.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * HotelBulkCreateResponseDto
+ */
+@Getter
+public class HotelBulkCreateResponseDto extends ResponseDto {
+
+    private final int createdCount;
+    private final int failedCount;
+    private final List<HotelBulkItemResultDto> results;
+
+    public HotelBulkCreateResponseDto(List<HotelBulkItemResultDto> results, int createdCount) {
+        this.createdCount = createdCount;
+        this.failedCount = results.size() - createdCount;
+        this.results = results;
+    }
+}
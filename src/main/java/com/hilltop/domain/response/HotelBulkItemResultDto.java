@@ -0,0 +1,17 @@
+package com.hilltop.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of one hotel in a bulk create request.
+ */
+@Getter
+@AllArgsConstructor
+public class HotelBulkItemResultDto extends ResponseDto {
+
+    private final int index;
+    private final String id;
+    private final int statusCode;
+    private final String message;
+}
@@ -1,6 +1,7 @@
 package com.hilltop.domain.response;
 
 
+import com.hilltop.domain.json.LogMasked;
 import com.hilltop.model.Hotel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -23,7 +24,9 @@ public class HotelCreateResponseDto extends ResponseDto {
     private String description;
     private String city;
     private String address;
+    @LogMasked
     private String telephone;
+    @LogMasked
     private String email;
     private List<String> imageUrls;
 
@@ -0,0 +1,29 @@
+package com.hilltop.domain.response;
+
+import com.hilltop.search.HotelGeoHit;
+import lombok.Getter;
+
+/**
+ * One hotel of a location search with its distance from the searched point.
+ */
+@Getter
+public class HotelGeoResultDto extends ResponseDto {
+
+    private final String id;
+    private final String name;
+    private final String city;
+    private final String address;
+    private final double latitude;
+    private final double longitude;
+    private final double distanceKm;
+
+    public HotelGeoResultDto(HotelGeoHit hotelGeoHit) {
+        this.id = hotelGeoHit.getId();
+        this.name = hotelGeoHit.getName();
+        this.city = hotelGeoHit.getCity();
+        this.address = hotelGeoHit.getAddress();
+        this.latitude = hotelGeoHit.getLatitude();
+        this.longitude = hotelGeoHit.getLongitude();
+        this.distanceKm = hotelGeoHit.getDistanceKm();
+    }
+}
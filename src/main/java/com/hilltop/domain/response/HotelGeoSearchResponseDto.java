@@ -0,0 +1,28 @@
+package com.hilltop.domain.response;
+
+import com.hilltop.search.HotelGeoHit;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * HotelGeoSearchResponseDto
+ */
+@Getter
+public class HotelGeoSearchResponseDto extends ResponseDto {
+
+    private final int page;
+    private final int size;
+    private final long totalItems;
+    private final long totalPages;
+    private final List<HotelGeoResultDto> hotels;
+
+    public HotelGeoSearchResponseDto(int page, int size, long totalItems, List<HotelGeoHit> hotelGeoHits) {
+        this.page = page;
+        this.size = size;
+        this.totalItems = totalItems;
+        this.totalPages = (totalItems + size - 1) / size;
+        this.hotels = hotelGeoHits.stream().map(HotelGeoResultDto::new).collect(Collectors.toList());
+    }
+}
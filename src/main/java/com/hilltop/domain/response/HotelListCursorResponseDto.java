@@ -0,0 +1,19 @@
+package com.hilltop.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * HotelListCursorResponseDto
+ */
+@Getter
+@AllArgsConstructor
+public class HotelListCursorResponseDto extends ResponseDto {
+
+    private final List<HotelResponseDto> hotelResponseDto;
+    private final String nextCursor;
+    private final int size;
+    private final Long totalItems;
+}
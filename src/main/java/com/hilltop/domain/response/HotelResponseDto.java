@@ -1,11 +1,15 @@
 package com.hilltop.domain.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.hilltop.domain.json.LogMasked;
 import com.hilltop.model.Hotel;
+import com.hilltop.model.HotelExportRow;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,17 +24,38 @@ public class HotelResponseDto extends ResponseDto {
     private String name;
     private String description;
     private String city;
+    private Double latitude;
+    private Double longitude;
+    @LogMasked
     private String telephone;
+    @LogMasked
     private String email;
     private List<String> imageUrl;
+    @JsonIgnore
+    private long updatedAt;
 
     public HotelResponseDto(Hotel hotel) {
         this.id = hotel.getId();
         this.name = hotel.getName();
         this.description = hotel.getDescription();
         this.city = hotel.getCity();
+        this.latitude = hotel.getLatitude();
+        this.longitude = hotel.getLongitude();
         this.telephone = hotel.getTelephone();
         this.email = hotel.getEmail();
         this.imageUrl = hotel.getImageUrl();
+        this.updatedAt = hotel.getUpdatedAt();
+    }
+
+    public HotelResponseDto(HotelExportRow hotelExportRow) {
+        this.id = hotelExportRow.getId();
+        this.name = hotelExportRow.getName();
+        this.description = hotelExportRow.getDescription();
+        this.city = hotelExportRow.getCity();
+        this.latitude = hotelExportRow.getLatitude();
+        this.longitude = hotelExportRow.getLongitude();
+        this.telephone = hotelExportRow.getTelephone();
+        this.email = hotelExportRow.getEmail();
+        this.imageUrl = new ArrayList<>();
     }
 }
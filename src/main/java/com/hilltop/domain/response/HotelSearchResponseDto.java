@@ -0,0 +1,33 @@
+package com.hilltop.domain.response;
+
+import com.hilltop.search.HotelSearchResult;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * HotelSearchResponseDto
+ */
+@Getter
+public class HotelSearchResponseDto extends ResponseDto {
+
+    private final String query;
+    private final int page;
+    private final int size;
+    private final long totalItems;
+    private final long totalPages;
+    private final List<HotelSearchResultDto> hotels;
+    private final Map<String, Long> cityFacets;
+
+    public HotelSearchResponseDto(String query, int page, int size, HotelSearchResult hotelSearchResult) {
+        this.query = query;
+        this.page = page;
+        this.size = size;
+        this.totalItems = hotelSearchResult.getTotalItems();
+        this.totalPages = (totalItems + size - 1) / size;
+        this.hotels = hotelSearchResult.getHits().stream().map(HotelSearchResultDto::new).collect(Collectors.toList());
+        this.cityFacets = hotelSearchResult.getCityFacets();
+    }
+}
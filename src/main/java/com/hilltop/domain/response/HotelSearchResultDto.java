@@ -0,0 +1,25 @@
+package com.hilltop.domain.response;
+
+import com.hilltop.search.HotelSearchHit;
+import lombok.Getter;
+
+/**
+ * One ranked hotel of a hotel search.
+ */
+@Getter
+public class HotelSearchResultDto extends ResponseDto {
+
+    private final String id;
+    private final String name;
+    private final String city;
+    private final String address;
+    private final float score;
+
+    public HotelSearchResultDto(HotelSearchHit hotelSearchHit) {
+        this.id = hotelSearchHit.getId();
+        this.name = hotelSearchHit.getName();
+        this.city = hotelSearchHit.getCity();
+        this.address = hotelSearchHit.getAddress();
+        this.score = hotelSearchHit.getScore();
+    }
+}
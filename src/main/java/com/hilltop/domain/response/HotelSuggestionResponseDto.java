@@ -0,0 +1,23 @@
+package com.hilltop.domain.response;
+
+import com.hilltop.search.HotelSuggestion;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * HotelSuggestionResponseDto
+ */
+@Getter
+public class HotelSuggestionResponseDto extends ResponseDto {
+
+    private final String prefix;
+    private final List<HotelSuggestion> names;
+    private final List<HotelSuggestion> cities;
+
+    public HotelSuggestionResponseDto(String prefix, List<HotelSuggestion> names, List<HotelSuggestion> cities) {
+        this.prefix = prefix;
+        this.names = names;
+        this.cities = cities;
+    }
+}
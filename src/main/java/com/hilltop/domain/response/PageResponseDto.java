@@ -1,5 +1,6 @@
 package com.hilltop.domain.response;
 
+import com.hilltop.domain.json.JsonWriters;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -53,6 +54,6 @@ public class PageResponseDto extends ResponseDto {
 
     @Override
     public String toLogJson() {
-        return toJson();
+        return JsonWriters.toLogJson(this);
     }
 }
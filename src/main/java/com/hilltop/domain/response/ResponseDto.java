@@ -1,6 +1,7 @@
 package com.hilltop.domain.response;
 
 import com.hilltop.domain.BaseDto;
+import com.hilltop.domain.json.JsonWriters;
 
 /**
  * ResponseDto
@@ -8,6 +9,6 @@ import com.hilltop.domain.BaseDto;
 public abstract class ResponseDto implements BaseDto {
     @Override
     public String toLogJson() {
-        return toJson();
+        return JsonWriters.toLogJson(this);
     }
 }
@@ -10,8 +10,15 @@ public enum ErrorResponseStatusType {
 
 
     INTERNAL_SERVER_ERROR(5000, "Internal server error."),
+    SERVICE_OVERLOADED(5003, "Service is overloaded, retry later."),
     INVALID_HOTEL_ID(4000,"Invalid hotel id."),
-    MISSING_REQUIRED_FIELDS(4001,"Required fields are missing.");
+    MISSING_REQUIRED_FIELDS(4001,"Required fields are missing."),
+    INVALID_CURSOR(4002, "Invalid page cursor."),
+    MALFORMED_HOTEL(4003, "Malformed hotel entry."),
+    INVALID_LOCATION(4004, "Invalid location."),
+    INVALID_SORT(4005, "Invalid sort field or direction."),
+    HOTEL_BATCH_TOO_LARGE(4006, "Too many hotel ids in a batch."),
+    INVALID_PEER_TOKEN(4007, "Invalid cache peer token.");
     private final int code;
     private final String message;
 
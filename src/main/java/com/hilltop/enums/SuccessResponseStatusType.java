@@ -14,7 +14,13 @@ public enum SuccessResponseStatusType {
     UPDATE_HOTEL(2003, "Successfully update the hotel."),
     DELETE_HOTEL(2004,"Successfully delete the hotel."),
     READ_HOTEL_CITIES(2005,"Successfully returned the hotel cities."),
-    READ_HOTELS_BY_CITY(2006,"Successfully returned the hotel list by city.");
+    READ_HOTELS_BY_CITY(2006,"Successfully returned the hotel list by city."),
+    INVALIDATE_CACHE(2007, "Successfully invalidated the cache."),
+    BULK_CREATE_HOTEL(2008, "Successfully processed the hotel bulk create."),
+    SEARCH_HOTELS(2009, "Successfully returned the hotel search result."),
+    READ_HOTEL_SUGGESTIONS(2010, "Successfully returned the hotel suggestions."),
+    SEARCH_HOTELS_BY_LOCATION(2011, "Successfully returned the hotels by location."),
+    READ_HOTEL_BATCH(2012, "Successfully returned the hotels by ids.");
     private final int code;
     private final String message;
 
@@ -0,0 +1,10 @@
+package com.hilltop.exception;
+
+/**
+ * InvalidCursorException
+ */
+public class InvalidCursorException extends HotelServiceException {
+    public InvalidCursorException(String errorMessage) {
+        super(errorMessage);
+    }
+}
@@ -0,0 +1,37 @@
+package com.hilltop.exception;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * ServiceOverloadedException
+ * Thrown when a request is not admitted, or no database connection was free in time.
+ * It is not a HotelServiceException, so it is answered with a retry response rather than an internal server error.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String errorMessage, long retryAfterSeconds) {
+        super(errorMessage);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * This method returns whether the error was caused by a connection pool timeout.
+     *
+     * @param error error
+     * @return true if a connection could not be taken from the pool in time
+     */
+    public static boolean isConnectionPoolTimeout(Throwable error) {
+        for (var cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
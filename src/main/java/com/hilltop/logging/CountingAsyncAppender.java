@@ -0,0 +1,35 @@
+package com.hilltop.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AsyncAppender which counts the events it drops.
+ * Events are discarded when the queue is above the discarding threshold and dropped when the queue is full
+ * and neverBlock is set. The counts are read without locking the queue, so they are close but not exact.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent eventObject) {
+        var remainingCapacity = getRemainingCapacity();
+        if ((remainingCapacity < getDiscardingThreshold() && isDiscardable(eventObject))
+                || (isNeverBlock() && remainingCapacity == 0)) {
+            droppedCount.increment();
+        }
+        super.append(eventObject);
+    }
+
+    /**
+     * This method returns the number of events dropped since start.
+     *
+     * @return dropped event count
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+}
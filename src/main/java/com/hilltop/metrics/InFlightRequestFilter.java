@@ -0,0 +1,56 @@
+package com.hilltop.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the requests being handled on a request thread, and the peak count since the last scrape.
+ * Asynchronous responses are counted until the request thread is released.
+ */
+public class InFlightRequestFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final String IN_FLIGHT_METRIC = "hotel.http.requests.in.flight";
+    static final String IN_FLIGHT_PEAK_METRIC = "hotel.http.requests.in.flight.peak";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+                .description("Requests being handled on a request thread")
+                .register(registry);
+        Gauge.builder(IN_FLIGHT_PEAK_METRIC, this, InFlightRequestFilter::getAndResetPeak)
+                .description("Peak of requests being handled on a request thread since the last scrape")
+                .register(registry);
+    }
+
+    /**
+     * This method returns the peak in flight count and starts a new peak from the current count.
+     *
+     * @return peak in flight count
+     */
+    int getAndResetPeak() {
+        return peak.getAndSet(inFlight.get());
+    }
+}
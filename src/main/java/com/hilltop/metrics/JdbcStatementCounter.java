@@ -0,0 +1,39 @@
+package com.hilltop.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the JDBC statements Hibernate prepares on the current thread.
+ * Counting only happens between start and stop, so statements of background work are ignored.
+ */
+public class JdbcStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> STATEMENT_COUNT = new ThreadLocal<>();
+
+    /**
+     * This method starts counting statements on the current thread.
+     */
+    public void start() {
+        STATEMENT_COUNT.set(new int[1]);
+    }
+
+    /**
+     * This method stops counting statements on the current thread.
+     *
+     * @return number of statements since start, -1 if counting was not started
+     */
+    public int stop() {
+        var statementCount = STATEMENT_COUNT.get();
+        STATEMENT_COUNT.remove();
+        return statementCount == null ? -1 : statementCount[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        var statementCount = STATEMENT_COUNT.get();
+        if (statementCount != null) {
+            statementCount[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,48 @@
+package com.hilltop.metrics;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.hilltop.logging.CountingAsyncAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+
+/**
+ * Dropped events and queue depth of the asynchronous log appenders.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext)) {
+            return;
+        }
+        var loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        var boundAppenders = new HashSet<String>();
+        for (var logger : loggerContext.getLoggerList()) {
+            var appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                var appender = appenders.next();
+                if (appender instanceof CountingAsyncAppender && boundAppenders.add(appender.getName())) {
+                    bind(registry, (CountingAsyncAppender) appender);
+                }
+            }
+        }
+    }
+
+    private void bind(MeterRegistry registry, CountingAsyncAppender appender) {
+        FunctionCounter.builder("hotel.logging.events.dropped", appender, CountingAsyncAppender::getDroppedCount)
+                .description("Log events dropped by the asynchronous appender")
+                .tag("appender", appender.getName())
+                .register(registry);
+        Gauge.builder("hotel.logging.queue.size", appender, CountingAsyncAppender::getNumberOfElementsInQueue)
+                .description("Log events waiting in the asynchronous appender queue")
+                .tag("appender", appender.getName())
+                .register(registry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.hilltop.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Records the number of JDBC statements executed by each request, tagged by method and uri template.
+ */
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    static final String JDBC_STATEMENTS_METRIC = "hotel.http.jdbc.statements";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final JdbcStatementCounter jdbcStatementCounter;
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsInterceptor(JdbcStatementCounter jdbcStatementCounter, MeterRegistry meterRegistry) {
+        this.jdbcStatementCounter = jdbcStatementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        jdbcStatementCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        var statementCount = jdbcStatementCounter.stop();
+        if (statementCount < 0) {
+            return;
+        }
+        var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(JDBC_STATEMENTS_METRIC)
+                .description("JDBC statements prepared per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? UNKNOWN_URI : uri.toString())
+                .register(meterRegistry)
+                .record(statementCount);
+    }
+}
@@ -0,0 +1,44 @@
+package com.hilltop.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Adds the SuccessResponseStatusType/ ErrorResponseStatusType code of a response to http.server.requests.
+ */
+public class ResponseCodeTagsContributor implements WebMvcTagsContributor {
+
+    public static final String RESPONSE_CODE_ATTRIBUTE = ResponseCodeTagsContributor.class.getName() + ".code";
+    private static final String CODE_TAG = "code";
+    private static final Tag NO_CODE = Tag.of(CODE_TAG, "NONE");
+
+    /**
+     * This method records the response code of the current request.
+     *
+     * @param code success or error response code
+     */
+    public static void recordResponseCode(int code) {
+        var requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(RESPONSE_CODE_ATTRIBUTE, code, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 Throwable exception) {
+        var code = request.getAttribute(RESPONSE_CODE_ATTRIBUTE);
+        return Tags.of(code == null ? NO_CODE : Tag.of(CODE_TAG, code.toString()));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.empty();
+    }
+}
@@ -0,0 +1,11 @@
+package com.hilltop.model;
+
+/**
+ * CityHotelCount projection
+ */
+public interface CityHotelCount {
+
+    String getCity();
+
+    long getHotelCount();
+}
@@ -5,24 +5,36 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.springframework.data.domain.Persistable;
 
 import javax.persistence.*;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Hotel Entity
+ * Ids are assigned by the application, so the entity tracks whether it was persisted
+ * to let save() insert new hotels without a select.
  */
 @Entity
-@Table(name = "hotel")
+@Table(name = "hotel", indexes = {
+        @Index(name = "idx_hotel_updated_at_id", columnList = "updatedAt, id"),
+        @Index(name = "idx_hotel_city_name_id", columnList = "city, name, id"),
+        @Index(name = "idx_hotel_city_updated_at_id", columnList = "city, updatedAt, id")
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-public class Hotel {
+public class Hotel implements Persistable<String> {
 
     @Transient
     private static final String HOTEL_ID_PREFIX = "hid-";
+    @Transient
+    private static final int IMAGE_URL_BATCH_SIZE = 250;
 
     @Id
     private String id;
@@ -33,13 +45,18 @@ public class Hotel {
     private String city;
     @Column(nullable = false)
     private String address;
+    private Double latitude;
+    private Double longitude;
     @Column(nullable = false)
     @ElementCollection
+    @BatchSize(size = IMAGE_URL_BATCH_SIZE)
     private List<String> imageUrl;
     private String telephone;
     private String email;
     private long createdAt;
     private long updatedAt;
+    @Transient
+    private boolean persisted;
 
     public Hotel(HotelCreateRequestDto hotelCreateRequest) {
         this.id = HOTEL_ID_PREFIX + UUID.randomUUID();
@@ -47,6 +64,8 @@ public class Hotel {
         this.description = hotelCreateRequest.getDescription();
         this.city = hotelCreateRequest.getCity();
         this.address = hotelCreateRequest.getAddress();
+        this.latitude = hotelCreateRequest.getLatitude();
+        this.longitude = hotelCreateRequest.getLongitude();
         this.telephone = hotelCreateRequest.getTelephone();
         this.email = hotelCreateRequest.getEmail();
         this.imageUrl = hotelCreateRequest.getImageUrl();
@@ -54,14 +73,49 @@ public class Hotel {
         this.updatedAt = System.currentTimeMillis();
     }
 
+    /**
+     * Creates a detached copy of the given hotel with an unmodifiable image url list.
+     *
+     * @param hotel hotel
+     */
+    public Hotel(Hotel hotel) {
+        this.id = hotel.getId();
+        this.name = hotel.getName();
+        this.description = hotel.getDescription();
+        this.city = hotel.getCity();
+        this.address = hotel.getAddress();
+        this.latitude = hotel.getLatitude();
+        this.longitude = hotel.getLongitude();
+        this.telephone = hotel.getTelephone();
+        this.email = hotel.getEmail();
+        this.imageUrl = hotel.getImageUrl() == null ? null :
+                Collections.unmodifiableList(new ArrayList<>(hotel.getImageUrl()));
+        this.createdAt = hotel.getCreatedAt();
+        this.updatedAt = hotel.getUpdatedAt();
+        this.persisted = hotel.isPersisted();
+    }
+
     public void update(HotelCreateRequestDto hotelCreateRequest) {
         this.name = hotelCreateRequest.getName();
         this.description = hotelCreateRequest.getDescription();
         this.city = hotelCreateRequest.getCity();
         this.address = hotelCreateRequest.getAddress();
+        this.latitude = hotelCreateRequest.getLatitude();
+        this.longitude = hotelCreateRequest.getLongitude();
         this.telephone = hotelCreateRequest.getTelephone();
         this.email = hotelCreateRequest.getEmail();
         this.updatedAt = System.currentTimeMillis();
         this.imageUrl = hotelCreateRequest.getImageUrl();
     }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
 }
@@ -0,0 +1,23 @@
+package com.hilltop.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One hotel and image url pair of the hotel export query.
+ * A hotel without images is returned once with a null image url.
+ */
+@Getter
+@AllArgsConstructor
+public class HotelExportRow {
+
+    private final String id;
+    private final String name;
+    private final String description;
+    private final String city;
+    private final Double latitude;
+    private final Double longitude;
+    private final String telephone;
+    private final String email;
+    private final String imageUrl;
+}
@@ -0,0 +1,29 @@
+package com.hilltop.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Searchable fields of one hotel, read to build the hotel search index.
+ */
+@Getter
+@AllArgsConstructor
+public class HotelSearchRow {
+
+    private final String id;
+    private final String name;
+    private final String description;
+    private final String city;
+    private final String address;
+    private final Double latitude;
+    private final Double longitude;
+
+    public HotelSearchRow(String id, String name, String description, String city, String address) {
+        this(id, name, description, city, address, null, null);
+    }
+
+    public HotelSearchRow(Hotel hotel) {
+        this(hotel.getId(), hotel.getName(), hotel.getDescription(), hotel.getCity(), hotel.getAddress(),
+                hotel.getLatitude(), hotel.getLongitude());
+    }
+}
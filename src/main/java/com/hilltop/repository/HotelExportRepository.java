@@ -0,0 +1,29 @@
+package com.hilltop.repository;
+
+import com.hilltop.model.HotelExportRow;
+import com.hilltop.model.HotelSearchRow;
+
+import java.util.stream.Stream;
+
+/**
+ * HotelExportRepository
+ */
+public interface HotelExportRepository {
+
+    /**
+     * This method used to stream all hotels with their image urls ordered by hotel id.
+     * The stream must be consumed and closed inside a transaction.
+     *
+     * @param city city to filter, null for all cities
+     * @return Stream of HotelExportRow
+     */
+    Stream<HotelExportRow> streamAllForExport(String city);
+
+    /**
+     * This method used to stream the searchable fields of all hotels to build the search index.
+     * The stream must be consumed and closed inside a transaction.
+     *
+     * @return Stream of HotelSearchRow
+     */
+    Stream<HotelSearchRow> streamAllForSearch();
+}
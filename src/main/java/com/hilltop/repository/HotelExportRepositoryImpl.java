@@ -0,0 +1,48 @@
+package com.hilltop.repository;
+
+import com.hilltop.model.HotelExportRow;
+import com.hilltop.model.HotelSearchRow;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.persistence.EntityManager;
+import java.util.stream.Stream;
+
+/**
+ * HotelExportRepository implementation with a configurable JDBC fetch size.
+ * Integer.MIN_VALUE makes the MySQL driver stream rows one by one instead of buffering the result set.
+ */
+public class HotelExportRepositoryImpl implements HotelExportRepository {
+
+    private static final String EXPORT_QUERY = "SELECT new com.hilltop.model.HotelExportRow(h.id, h.name, " +
+            "h.description, h.city, h.latitude, h.longitude, h.telephone, h.email, i) FROM Hotel h LEFT JOIN h.imageUrl i " +
+            "WHERE (:city IS NULL OR h.city = :city) ORDER BY h.id";
+    private static final String SEARCH_QUERY = "SELECT new com.hilltop.model.HotelSearchRow(h.id, h.name, " +
+            "h.description, h.city, h.address, h.latitude, h.longitude) FROM Hotel h";
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    public HotelExportRepositoryImpl(EntityManager entityManager,
+                                     @Value("${hotel.export.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Stream<HotelExportRow> streamAllForExport(String city) {
+        return entityManager.createQuery(EXPORT_QUERY, HotelExportRow.class)
+                .setParameter("city", city)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<HotelSearchRow> streamAllForSearch() {
+        return entityManager.createQuery(SEARCH_QUERY, HotelSearchRow.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+    }
+}
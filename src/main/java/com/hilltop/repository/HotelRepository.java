@@ -1,20 +1,82 @@
 package com.hilltop.repository;
 
+import com.hilltop.model.CityHotelCount;
 import com.hilltop.model.Hotel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * HotelRepository
  */
-public interface HotelRepository extends JpaRepository<Hotel, String> {
+public interface HotelRepository extends JpaRepository<Hotel, String>, HotelExportRepository {
 
     /**
-     * This method used to get all hotels by city.
+     * This method used to get a hotel by id together with its image urls in one query.
      *
-     * @param city city
+     * @param id hotel id
+     * @return Optional of hotel
+     */
+    @Override
+    @EntityGraph(attributePaths = "imageUrl")
+    Optional<Hotel> findById(String id);
+
+    /**
+     * This method used to get the hotels of the given ids together with their image urls in one query.
+     *
+     * @param ids hotel ids
+     * @return List of hotel, without the ids which do not exist
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT h FROM Hotel h LEFT JOIN FETCH h.imageUrl WHERE h.id IN :ids")
+    List<Hotel> findAllWithImageUrlByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * This method used to get a page of hotels by city.
+     *
+     * @param city     city
+     * @param pageable page, size and sort
+     * @return Page of hotel
+     */
+    Page<Hotel> findAllByCity(String city, Pageable pageable);
+
+    /**
+     * This method used to get distinct cities with the number of hotels in each city.
+     *
+     * @return List of CityHotelCount
+     */
+    @Query("SELECT h.city AS city, COUNT(h) AS hotelCount FROM Hotel h GROUP BY h.city")
+    List<CityHotelCount> findCityHotelCounts();
+
+    /**
+     * This method used to get the first hotels ordered by updatedAt and id descending.
+     *
+     * @param pageable pageable with the limit
+     * @return List of hotel
+     */
+    List<Hotel> findAllByOrderByUpdatedAtDescIdDesc(Pageable pageable);
+
+    /**
+     * This method used to get the hotels after the given (updatedAt, id) position
+     * ordered by updatedAt and id descending.
+     *
+     * @param updatedAt updatedAt of the last returned hotel
+     * @param id        id of the last returned hotel
+     * @param pageable  pageable with the limit
      * @return List of hotel
      */
-    List<Hotel> findAllByCity(String city);
+    @Query("SELECT h FROM Hotel h WHERE h.updatedAt < :updatedAt OR (h.updatedAt = :updatedAt AND h.id < :id) " +
+            "ORDER BY h.updatedAt DESC, h.id DESC")
+    List<Hotel> findAllAfter(@Param("updatedAt") long updatedAt, @Param("id") String id, Pageable pageable);
 }
@@ -0,0 +1,282 @@
+package com.hilltop.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Path compressed trie of weighted completions.
+ * <p>
+ * Every node keeps the largest weight in its subtree, so the top completions of a prefix are found best first
+ * without visiting the whole subtree. Keys are lower case with single spaces; the first display text added
+ * for a key is returned. Not thread safe.
+ */
+final class CompletionTrie {
+
+    // estimated object sizes with compressed oops
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int NODE_BYTES = OBJECT_HEADER_BYTES + 3 * REFERENCE_BYTES + 2 * Integer.BYTES;
+    private static final int STRING_BYTES = 24;
+    private static final char[] EMPTY_LABEL = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node(EMPTY_LABEL);
+    private int size;
+
+    /**
+     * One edge label and the node it leads to.
+     */
+    private static final class Node {
+        private char[] label;
+        private Node[] children = NO_CHILDREN;
+        private String display;
+        private int weight;
+        private int maxWeight;
+
+        private Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * This method normalizes a completion key or prefix.
+     *
+     * @param text text
+     * @return lower case text with single spaces, empty for null
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return String.join(" ", text.trim().toLowerCase(Locale.ROOT).split("\\s+"));
+    }
+
+    /**
+     * This method returns the number of completions.
+     *
+     * @return completion count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * This method removes all completions.
+     */
+    void clear() {
+        root.children = NO_CHILDREN;
+        root.maxWeight = 0;
+        size = 0;
+    }
+
+    /**
+     * This method adds delta to the weight of a completion. A completion is removed when its weight drops to zero.
+     *
+     * @param text  completion text
+     * @param delta weight change
+     */
+    void add(String text, int delta) {
+        var key = normalize(text);
+        if (!key.isEmpty() && delta != 0) {
+            update(root, key, 0, text.trim(), delta);
+        }
+    }
+
+    /**
+     * This method returns the completions starting with the prefix with the largest weights first.
+     *
+     * @param prefix prefix
+     * @param limit  maximum number of completions
+     * @return completions
+     */
+    List<HotelSuggestion> complete(String prefix, int limit) {
+        var key = normalize(prefix);
+        List<HotelSuggestion> completions = new ArrayList<>(limit);
+        var start = find(key);
+        if (start == null || limit <= 0) {
+            return completions;
+        }
+        // queued nodes are ranked by their subtree weight, queued completions by their own weight
+        var queue = new PriorityQueue<Object[]>((first, second) -> Integer.compare((int) second[1], (int) first[1]));
+        queue.add(new Object[]{start, start.maxWeight});
+        while (!queue.isEmpty() && completions.size() < limit) {
+            var next = queue.poll();
+            if (next[0] instanceof HotelSuggestion) {
+                completions.add((HotelSuggestion) next[0]);
+                continue;
+            }
+            var node = (Node) next[0];
+            if (node.weight > 0) {
+                queue.add(new Object[]{new HotelSuggestion(node.display, node.weight), node.weight});
+            }
+            for (var child : node.children) {
+                queue.add(new Object[]{child, child.maxWeight});
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * This method estimates the heap used by the trie, including the display strings.
+     *
+     * @return bytes
+     */
+    long estimateFootprintBytes() {
+        long bytes = 0;
+        List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            var node = stack.remove(stack.size() - 1);
+            bytes += align(NODE_BYTES);
+            bytes += node.label.length == 0 ? 0 : align(ARRAY_HEADER_BYTES + (long) node.label.length * Character.BYTES);
+            bytes += node.children.length == 0 ? 0 : align(ARRAY_HEADER_BYTES + (long) node.children.length * REFERENCE_BYTES);
+            if (node.display != null) {
+                bytes += align(STRING_BYTES) + align(ARRAY_HEADER_BYTES + (long) node.display.length());
+            }
+            stack.addAll(Arrays.asList(node.children));
+        }
+        return bytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * This method finds the node whose subtree holds all keys starting with the prefix.
+     *
+     * @param key normalized prefix
+     * @return node, null when no key starts with the prefix
+     */
+    private Node find(String key) {
+        var node = root;
+        int position = 0;
+        while (position < key.length()) {
+            var child = child(node, key.charAt(position));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length && position + common < key.length()) {
+                return null;
+            }
+            position += common;
+            node = child;
+        }
+        return node;
+    }
+
+    private void update(Node node, String key, int position, String display, int delta) {
+        if (position == key.length()) {
+            if (node.weight == 0 && delta > 0) {
+                node.display = display;
+                node.weight = delta;
+                size++;
+            } else if (node.weight > 0) {
+                node.weight = Math.max(0, node.weight + delta);
+                if (node.weight == 0) {
+                    node.display = null;
+                    size--;
+                }
+            }
+        } else {
+            updateChild(node, key, position, display, delta);
+        }
+        node.maxWeight = node.weight;
+        for (var child : node.children) {
+            node.maxWeight = Math.max(node.maxWeight, child.maxWeight);
+        }
+    }
+
+    private void updateChild(Node node, String key, int position, String display, int delta) {
+        int index = childIndex(node, key.charAt(position));
+        if (index < 0) {
+            if (delta > 0) {
+                var leaf = new Node(key.substring(position).toCharArray());
+                leaf.display = display;
+                leaf.weight = delta;
+                leaf.maxWeight = delta;
+                size++;
+                insertChild(node, -index - 1, leaf);
+            }
+            return;
+        }
+        var child = node.children[index];
+        int common = commonPrefix(child.label, key, position);
+        if (common < child.label.length) {
+            if (delta <= 0) {
+                return;
+            }
+            var split = new Node(Arrays.copyOf(child.label, common));
+            child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+            split.children = new Node[]{child};
+            split.maxWeight = child.maxWeight;
+            node.children[index] = split;
+            child = split;
+        }
+        update(child, key, position + common, display, delta);
+        if (child.weight == 0 && child.children.length == 0) {
+            removeChild(node, index);
+        } else if (child.weight == 0 && child.children.length == 1) {
+            var only = child.children[0];
+            var label = Arrays.copyOf(child.label, child.label.length + only.label.length);
+            System.arraycopy(only.label, 0, label, child.label.length, only.label.length);
+            only.label = label;
+            node.children[index] = only;
+        }
+    }
+
+    private static Node child(Node node, char first) {
+        int index = childIndex(node, first);
+        return index < 0 ? null : node.children[index];
+    }
+
+    private static int childIndex(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char label = node.children[middle].label[0];
+            if (label < first) {
+                low = middle + 1;
+            } else if (label > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void insertChild(Node node, int index, Node child) {
+        var children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        children[index] = child;
+        System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+        node.children = children;
+    }
+
+    private static void removeChild(Node node, int index) {
+        if (node.children.length == 1) {
+            node.children = NO_CHILDREN;
+            return;
+        }
+        var children = new Node[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        node.children = children;
+    }
+
+    private static int commonPrefix(char[] label, String key, int position) {
+        int common = 0;
+        while (common < label.length && position + common < key.length()
+                && label[common] == key.charAt(position + common)) {
+            common++;
+        }
+        return common;
+    }
+}
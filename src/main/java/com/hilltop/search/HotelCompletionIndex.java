@@ -0,0 +1,140 @@
+package com.hilltop.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix completions of hotel names and cities, ranked by the number of hotels sharing the name or city.
+ * Maintained by the hotel search index, so it follows hotel writes and index loads.
+ */
+@Component
+public class HotelCompletionIndex implements MeterBinder {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CompletionTrie names = new CompletionTrie();
+    private final CompletionTrie cities = new CompletionTrie();
+
+    /**
+     * This method records a hotel with the given name and city.
+     *
+     * @param name hotel name
+     * @param city hotel city
+     */
+    public void add(String name, String city) {
+        update(name, city, 1);
+    }
+
+    /**
+     * This method records a hotel with the given name and city was removed or renamed.
+     *
+     * @param name hotel name
+     * @param city hotel city
+     */
+    public void remove(String name, String city) {
+        update(name, city, -1);
+    }
+
+    /**
+     * This method removes all completions.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            cities.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method returns the hotel names starting with the prefix, most common first.
+     *
+     * @param prefix typed prefix
+     * @param limit  maximum number of names
+     * @return name suggestions
+     */
+    public List<HotelSuggestion> completeNames(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return names.complete(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method returns the cities starting with the prefix, cities with most hotels first.
+     *
+     * @param prefix typed prefix
+     * @param limit  maximum number of cities
+     * @return city suggestions
+     */
+    public List<HotelSuggestion> completeCities(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return cities.complete(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method returns the number of distinct hotel names and cities.
+     *
+     * @return completion count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size() + cities.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method estimates the heap used by the completions.
+     *
+     * @return bytes
+     */
+    public long estimateFootprintBytes() {
+        lock.readLock().lock();
+        try {
+            return names.estimateFootprintBytes() + cities.estimateFootprintBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hotel.completion.entries", this, HotelCompletionIndex::size)
+                .description("Distinct hotel names and cities in the completion index")
+                .register(registry);
+        Gauge.builder("hotel.completion.footprint", this, HotelCompletionIndex::estimateFootprintBytes)
+                .description("Estimated heap used by the completion index")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void update(String name, String city, int delta) {
+        lock.writeLock().lock();
+        try {
+            if (name != null) {
+                names.add(name, delta);
+            }
+            if (city != null) {
+                cities.add(city, delta);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
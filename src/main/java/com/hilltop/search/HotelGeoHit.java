@@ -0,0 +1,20 @@
+package com.hilltop.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One hotel of a location search with its distance from the searched point.
+ */
+@Getter
+@AllArgsConstructor
+public class HotelGeoHit {
+
+    private final String id;
+    private final String name;
+    private final String city;
+    private final String address;
+    private final double latitude;
+    private final double longitude;
+    private final double distanceKm;
+}
@@ -0,0 +1,335 @@
+package com.hilltop.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory grid index of hotel locations.
+ * <p>
+ * The world is split into cells of CELL_DEGREES by CELL_DEGREES and every located hotel is kept in its cell.
+ * A query visits only the cells overlapping its area, or every non empty cell when those are fewer, so its cost
+ * depends on the hotels around the point and not on the size of the catalogue. Only the hits up to the end of
+ * the requested page are kept and ordered, so a page costs O(hits log (offset + limit)). Hotels without a
+ * location are not indexed. Queries share a read lock, writes take the write lock.
+ */
+@Component
+public class HotelGeoIndex {
+
+    static final double CELL_DEGREES = 0.1;
+    private static final int LATITUDE_CELLS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int LONGITUDE_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180;
+    private static final Comparator<HotelGeoHit> NEAREST_FIRST =
+            Comparator.comparingDouble(HotelGeoHit::getDistanceKm).thenComparing(HotelGeoHit::getId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, List<HotelLocation>> cells = new HashMap<>();
+    private final Map<String, HotelLocation> locationByHotelId = new HashMap<>();
+
+    /**
+     * Location and display fields of one indexed hotel.
+     */
+    private static final class HotelLocation {
+        private final String id;
+        private final String name;
+        private final String city;
+        private final String address;
+        private final double latitude;
+        private final double longitude;
+        private final int cell;
+
+        private HotelLocation(String id, String name, String city, String address, double latitude,
+                              double longitude) {
+            this.id = id;
+            this.name = name;
+            this.city = city;
+            this.address = address;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell(latitudeCell(latitude), longitudeCell(longitude));
+        }
+
+        private HotelGeoHit toHit(double distanceKm) {
+            return new HotelGeoHit(id, name, city, address, latitude, longitude, distanceKm);
+        }
+    }
+
+    /**
+     * Counts every hit offered and keeps only the nearest offset + limit of them in a max-heap, so the
+     * furthest kept hit is replaced when a nearer one arrives.
+     */
+    private static final class NearestHits {
+        private final long offset;
+        private final long capacity;
+        private final PriorityQueue<HotelGeoHit> furthestFirst = new PriorityQueue<>(NEAREST_FIRST.reversed());
+        private int totalItems;
+
+        private NearestHits(long offset, int limit) {
+            this.offset = Math.max(offset, 0);
+            this.capacity = limit <= 0 ? 0 : this.offset + Math.min(limit, Long.MAX_VALUE - this.offset);
+        }
+
+        private void offer(HotelLocation location, double distanceKm) {
+            totalItems++;
+            if (furthestFirst.size() < capacity) {
+                furthestFirst.add(location.toHit(distanceKm));
+                return;
+            }
+            var furthest = furthestFirst.peek();
+            if (furthest != null && (distanceKm < furthest.getDistanceKm()
+                    || distanceKm == furthest.getDistanceKm() && location.id.compareTo(furthest.getId()) < 0)) {
+                furthestFirst.poll();
+                furthestFirst.add(location.toHit(distanceKm));
+            }
+        }
+
+        private HotelGeoResult page() {
+            var hits = new ArrayList<>(furthestFirst);
+            hits.sort(NEAREST_FIRST);
+            var from = (int) Math.min(offset, hits.size());
+            return new HotelGeoResult(totalItems, new ArrayList<>(hits.subList(from, hits.size())));
+        }
+    }
+
+    /**
+     * This method returns the number of indexed hotels.
+     *
+     * @return hotel count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return locationByHotelId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method adds a hotel to the index or moves it. A hotel without a location is removed.
+     *
+     * @param id        hotel id
+     * @param name      hotel name
+     * @param city      hotel city
+     * @param address   hotel address
+     * @param latitude  latitude in degrees, may be null
+     * @param longitude longitude in degrees, may be null
+     */
+    public void put(String id, String name, String city, String address, Double latitude, Double longitude) {
+        lock.writeLock().lock();
+        try {
+            removeLocation(id);
+            if (latitude != null && longitude != null) {
+                var location = new HotelLocation(id, name, city, address, latitude, longitude);
+                locationByHotelId.put(id, location);
+                cells.computeIfAbsent(location.cell, key -> new ArrayList<>(1)).add(location);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method removes a hotel from the index.
+     *
+     * @param id hotel id
+     */
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocation(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method removes all hotels.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            locationByHotelId.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method returns a page of the hotels within a radius of a point, nearest first.
+     *
+     * @param latitude  latitude of the point
+     * @param longitude longitude of the point
+     * @param radiusKm  radius in kilometres
+     * @param offset    number of hotels to skip
+     * @param limit     maximum number of hotels to return
+     * @return hotels within the radius
+     */
+    public HotelGeoResult withinRadius(double latitude, double longitude, double radiusKm, long offset, int limit) {
+        var radiusDegrees = radiusKm / KM_PER_DEGREE;
+        var minLatitude = Math.max(-90, latitude - radiusDegrees);
+        var maxLatitude = Math.min(90, latitude + radiusDegrees);
+        var widestLatitude = Math.toRadians(Math.max(Math.abs(minLatitude), Math.abs(maxLatitude)));
+        var longitudeDegrees = Math.cos(widestLatitude) <= 0 ? 180 : radiusDegrees / Math.cos(widestLatitude);
+        var nearestHits = new NearestHits(offset, limit);
+        lock.readLock().lock();
+        try {
+            visitCells(minLatitude, maxLatitude, longitude - longitudeDegrees, longitude + longitudeDegrees,
+                    location -> {
+                        var distanceKm = distanceKm(latitude, longitude, location.latitude, location.longitude);
+                        if (distanceKm <= radiusKm) {
+                            nearestHits.offer(location, distanceKm);
+                        }
+                    });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return nearestHits.page();
+    }
+
+    /**
+     * This method returns a page of the hotels inside a bounding box, nearest to the box centre first.
+     * A box with minLongitude greater than maxLongitude crosses the antimeridian.
+     *
+     * @param minLatitude  southern edge
+     * @param minLongitude western edge
+     * @param maxLatitude  northern edge
+     * @param maxLongitude eastern edge
+     * @param offset       number of hotels to skip
+     * @param limit        maximum number of hotels to return
+     * @return hotels inside the box
+     */
+    public HotelGeoResult withinBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                    long offset, int limit) {
+        var eastLongitude = maxLongitude < minLongitude ? maxLongitude + 360 : maxLongitude;
+        var centreLatitude = (minLatitude + maxLatitude) / 2;
+        var centreLongitude = (minLongitude + eastLongitude) / 2;
+        var nearestHits = new NearestHits(offset, limit);
+        lock.readLock().lock();
+        try {
+            visitCells(minLatitude, maxLatitude, minLongitude, eastLongitude, location -> {
+                var longitude = location.longitude < minLongitude ? location.longitude + 360 : location.longitude;
+                if (location.latitude >= minLatitude && location.latitude <= maxLatitude
+                        && longitude <= eastLongitude) {
+                    nearestHits.offer(location, distanceKm(centreLatitude, centreLongitude, location.latitude,
+                            location.longitude));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return nearestHits.page();
+    }
+
+    /**
+     * This method returns the hotels nearest to a point.
+     * The radius is doubled from one cell until enough hotels are found, so dense areas stop early.
+     *
+     * @param latitude    latitude of the point
+     * @param longitude   longitude of the point
+     * @param count       number of hotels
+     * @param maxRadiusKm hotels further away are not returned
+     * @return nearest hotels, nearest first
+     */
+    public List<HotelGeoHit> nearest(double latitude, double longitude, int count, double maxRadiusKm) {
+        var radiusKm = Math.min(maxRadiusKm, CELL_DEGREES * KM_PER_DEGREE);
+        while (true) {
+            var result = withinRadius(latitude, longitude, radiusKm, 0, count);
+            if (result.getTotalItems() >= count || radiusKm >= maxRadiusKm) {
+                return result.getHits();
+            }
+            radiusKm = Math.min(maxRadiusKm, radiusKm * 2);
+        }
+    }
+
+    /**
+     * This method returns the great circle distance between two points.
+     *
+     * @param fromLatitude  latitude of the first point
+     * @param fromLongitude longitude of the first point
+     * @param toLatitude    latitude of the second point
+     * @param toLongitude   longitude of the second point
+     * @return distance in kilometres
+     */
+    static double distanceKm(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        var latitudeDelta = Math.toRadians(toLatitude - fromLatitude);
+        var longitudeDelta = Math.toRadians(toLongitude - fromLongitude);
+        var haversine = Math.pow(Math.sin(latitudeDelta / 2), 2) + Math.cos(Math.toRadians(fromLatitude))
+                * Math.cos(Math.toRadians(toLatitude)) * Math.pow(Math.sin(longitudeDelta / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(haversine)));
+    }
+
+    /**
+     * This method visits the hotels in all cells overlapping a latitude and longitude range.
+     * Must be called with the read lock held.
+     *
+     * @param minLatitude  southern edge
+     * @param maxLatitude  northern edge
+     * @param minLongitude western edge
+     * @param maxLongitude eastern edge, at most 360 degrees east of the western edge
+     * @param consumer     hotel consumer
+     */
+    private void visitCells(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude,
+                            Consumer<HotelLocation> consumer) {
+        int minLatitudeCell = latitudeCell(minLatitude);
+        int maxLatitudeCell = latitudeCell(maxLatitude);
+        int minLongitudeCell = longitudeCell(minLongitude);
+        int longitudeCellCount = maxLongitude - minLongitude >= 360 ? LONGITUDE_CELLS
+                : Math.floorMod(longitudeCell(maxLongitude) - minLongitudeCell, LONGITUDE_CELLS) + 1;
+        long rangeCellCount = (long) (maxLatitudeCell - minLatitudeCell + 1) * longitudeCellCount;
+        if (rangeCellCount > cells.size()) {
+            for (var entry : cells.entrySet()) {
+                int latitudeCell = entry.getKey() / LONGITUDE_CELLS;
+                int longitudeOffset = Math.floorMod(entry.getKey() % LONGITUDE_CELLS - minLongitudeCell,
+                        LONGITUDE_CELLS);
+                if (latitudeCell >= minLatitudeCell && latitudeCell <= maxLatitudeCell
+                        && longitudeOffset < longitudeCellCount) {
+                    entry.getValue().forEach(consumer);
+                }
+            }
+            return;
+        }
+        for (int latitudeCell = minLatitudeCell; latitudeCell <= maxLatitudeCell; latitudeCell++) {
+            for (int offset = 0; offset < longitudeCellCount; offset++) {
+                var locations = cells.get(cell(latitudeCell, (minLongitudeCell + offset) % LONGITUDE_CELLS));
+                if (locations != null) {
+                    locations.forEach(consumer);
+                }
+            }
+        }
+    }
+
+    private void removeLocation(String id) {
+        var location = locationByHotelId.remove(id);
+        if (location != null) {
+            var locations = cells.get(location.cell);
+            locations.remove(location);
+            if (locations.isEmpty()) {
+                cells.remove(location.cell);
+            }
+        }
+    }
+
+    private static int latitudeCell(double latitude) {
+        return Math.max(0, Math.min(LATITUDE_CELLS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES)));
+    }
+
+    private static int longitudeCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LONGITUDE_CELLS);
+    }
+
+    private static int cell(int latitudeCell, int longitudeCell) {
+        return latitudeCell * LONGITUDE_CELLS + longitudeCell;
+    }
+}
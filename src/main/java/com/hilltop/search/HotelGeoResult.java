@@ -0,0 +1,17 @@
+package com.hilltop.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a location search, nearest hotels first.
+ */
+@Getter
+@AllArgsConstructor
+public class HotelGeoResult {
+
+    private final long totalItems;
+    private final List<HotelGeoHit> hits;
+}
@@ -0,0 +1,18 @@
+package com.hilltop.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One ranked hotel of a search.
+ */
+@Getter
+@AllArgsConstructor
+public class HotelSearchHit {
+
+    private final String id;
+    private final String name;
+    private final String city;
+    private final String address;
+    private final float score;
+}
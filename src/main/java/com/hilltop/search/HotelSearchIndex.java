@@ -0,0 +1,512 @@
+package com.hilltop.search;
+
+import com.hilltop.model.HotelSearchRow;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over hotel name, city, address and description.
+ * <p>
+ * Each term maps to a sorted list of (document, field) entries. Every query term must match (AND),
+ * either exactly or as a prefix of an indexed term. A hotel scores the best field weight of each query term,
+ * halved for prefix matches. Searches share a read lock, writes take the write lock.
+ * Name and city completions and hotel locations are kept in line with the indexed hotels.
+ */
+@Component
+public class HotelSearchIndex {
+
+    static final int MAX_PREFIX_TERMS = 128;
+    static final int MAX_CITY_FACETS = 50;
+    private static final int FIELD_BITS = 2;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final int NAME = 0;
+    private static final int CITY = 1;
+    private static final int ADDRESS = 2;
+    private static final int DESCRIPTION = 3;
+    private static final float[] FIELD_WEIGHTS = {3f, 2f, 1.5f, 1f};
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+    private static final int MAX_DOCUMENTS = Integer.MAX_VALUE >> FIELD_BITS;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final HotelCompletionIndex hotelCompletionIndex;
+    private final HotelGeoIndex hotelGeoIndex;
+    private final TreeMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final Map<String, Integer> documentByHotelId = new HashMap<>();
+    private final List<HotelSearchDocument> documents = new ArrayList<>();
+    private final Deque<Integer> freeDocuments = new ArrayDeque<>();
+    private final Map<String, Integer> cityOrdinals = new HashMap<>();
+    private final List<String> cities = new ArrayList<>();
+    private final Set<String> changedDuringLoad = new HashSet<>();
+    private boolean loading;
+    private volatile boolean loaded;
+
+    public HotelSearchIndex(HotelCompletionIndex hotelCompletionIndex, HotelGeoIndex hotelGeoIndex) {
+        this.hotelCompletionIndex = hotelCompletionIndex;
+        this.hotelGeoIndex = hotelGeoIndex;
+    }
+
+    /**
+     * Stored fields and term postings of one indexed hotel.
+     */
+    private static final class HotelSearchDocument {
+        private final String id;
+        private final String name;
+        private final String address;
+        private final int cityOrdinal;
+        private final Postings[] postings;
+
+        private HotelSearchDocument(HotelSearchRow row, int cityOrdinal, Postings[] postings) {
+            this.id = row.getId();
+            this.name = row.getName();
+            this.address = row.getAddress();
+            this.cityOrdinal = cityOrdinal;
+            this.postings = postings;
+        }
+    }
+
+    /**
+     * Matching documents of one query term in document order, with the score of each document.
+     */
+    private static final class TermMatch {
+        private final int[] documents;
+        private final float[] scores;
+        private final int size;
+
+        private TermMatch(int[] documents, float[] scores, int size) {
+            this.documents = documents;
+            this.scores = scores;
+            this.size = size;
+        }
+    }
+
+    /**
+     * This method checks the index has been loaded from the database.
+     *
+     * @return true/ false
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * This method returns the number of indexed hotels.
+     *
+     * @return hotel count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentByHotelId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method adds a hotel to the index or replaces the indexed fields of the hotel.
+     *
+     * @param row searchable hotel fields
+     */
+    public void index(HotelSearchRow row) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                changedDuringLoad.add(row.getId());
+            }
+            put(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method removes a hotel from the index.
+     *
+     * @param hotelId hotel id
+     */
+    public void remove(String hotelId) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                changedDuringLoad.add(hotelId);
+            }
+            var document = documentByHotelId.remove(hotelId);
+            if (document != null) {
+                removePostings(document);
+                removeCompletions(document);
+                hotelGeoIndex.remove(hotelId);
+                documents.set(document, null);
+                freeDocuments.push(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method clears the index before it is loaded from the database.
+     * Hotels written while loading are not overwritten by the loaded rows, which may be older.
+     */
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            postingsByTerm.clear();
+            documentByHotelId.clear();
+            documents.clear();
+            freeDocuments.clear();
+            changedDuringLoad.clear();
+            hotelCompletionIndex.clear();
+            hotelGeoIndex.clear();
+            loading = true;
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method adds a batch of hotels read from the database.
+     *
+     * @param rows searchable hotel fields
+     */
+    public void loadBatch(List<HotelSearchRow> rows) {
+        lock.writeLock().lock();
+        try {
+            for (var row : rows) {
+                if (!changedDuringLoad.contains(row.getId())) {
+                    put(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method marks the index as loaded.
+     */
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            changedDuringLoad.clear();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method searches hotels matching all terms of the query.
+     *
+     * @param query  query text
+     * @param city   city filter, null for all cities
+     * @param offset number of ranked hotels to skip
+     * @param limit  maximum number of hotels to return
+     * @return ranked hotels and city facets
+     */
+    public HotelSearchResult search(String query, String city, long offset, int limit) {
+        var terms = SearchTokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return HotelSearchResult.empty();
+        }
+        lock.readLock().lock();
+        try {
+            List<TermMatch> termMatches = new ArrayList<>(terms.size());
+            for (var term : terms) {
+                var termMatch = match(term);
+                if (termMatch.size == 0) {
+                    return HotelSearchResult.empty();
+                }
+                termMatches.add(termMatch);
+            }
+            termMatches.sort((first, second) -> Integer.compare(first.size, second.size));
+            var matched = termMatches.get(0);
+            for (int i = 1; i < termMatches.size() && matched.size > 0; i++) {
+                matched = intersect(matched, termMatches.get(i));
+            }
+            return rank(matched, city, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method indexes a hotel. Must be called with the write lock held.
+     *
+     * @param row searchable hotel fields
+     */
+    private void put(HotelSearchRow row) {
+        var document = documentByHotelId.get(row.getId());
+        if (document != null) {
+            removePostings(document);
+            removeCompletions(document);
+        } else {
+            document = allocateDocument();
+            documentByHotelId.put(row.getId(), document);
+        }
+        Map<String, Postings> documentPostings = new LinkedHashMap<>();
+        addField(document, NAME, row.getName(), documentPostings);
+        addField(document, CITY, row.getCity(), documentPostings);
+        addField(document, ADDRESS, row.getAddress(), documentPostings);
+        addField(document, DESCRIPTION, row.getDescription(), documentPostings);
+        int cityOrdinal = row.getCity() == null ? -1 : cityOrdinals.computeIfAbsent(row.getCity(), key -> {
+            cities.add(key);
+            return cities.size() - 1;
+        });
+        documents.set(document, new HotelSearchDocument(row, cityOrdinal,
+                documentPostings.values().toArray(new Postings[0])));
+        hotelCompletionIndex.add(row.getName(), row.getCity());
+        hotelGeoIndex.put(row.getId(), row.getName(), row.getCity(), row.getAddress(), row.getLatitude(),
+                row.getLongitude());
+    }
+
+    private void removeCompletions(int document) {
+        var hotelSearchDocument = documents.get(document);
+        hotelCompletionIndex.remove(hotelSearchDocument.name,
+                hotelSearchDocument.cityOrdinal < 0 ? null : cities.get(hotelSearchDocument.cityOrdinal));
+    }
+
+    private void addField(int document, int field, String text, Map<String, Postings> documentPostings) {
+        for (var term : SearchTokenizer.tokenize(text)) {
+            var postings = postingsByTerm.computeIfAbsent(term, Postings::new);
+            postings.add(document << FIELD_BITS | field);
+            documentPostings.putIfAbsent(term, postings);
+        }
+    }
+
+    private int allocateDocument() {
+        if (!freeDocuments.isEmpty()) {
+            return freeDocuments.pop();
+        }
+        if (documents.size() == MAX_DOCUMENTS) {
+            throw new IllegalStateException("Hotel search index is full.");
+        }
+        documents.add(null);
+        return documents.size() - 1;
+    }
+
+    private void removePostings(int document) {
+        for (var postings : documents.get(document).postings) {
+            postings.removeRange(document << FIELD_BITS, document << FIELD_BITS | FIELD_MASK);
+            if (postings.size() == 0) {
+                postingsByTerm.remove(postings.term());
+            }
+        }
+    }
+
+    /**
+     * This method returns the documents which contain the term or an indexed term starting with it.
+     * At most MAX_PREFIX_TERMS prefix terms are expanded to keep short prefixes bounded.
+     *
+     * @param term query term
+     * @return term match
+     */
+    private TermMatch match(String term) {
+        List<Postings> matchedPostings = new ArrayList<>();
+        int entryCount = 0;
+        var exact = postingsByTerm.get(term);
+        if (exact != null) {
+            matchedPostings.add(exact);
+            entryCount += exact.size();
+        }
+        for (var postings : postingsByTerm.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+            if (matchedPostings.size() == MAX_PREFIX_TERMS) {
+                break;
+            }
+            matchedPostings.add(postings);
+            entryCount += postings.size();
+        }
+        // document in the high half and weight bits in the low half, so sorting groups the entries by document
+        var packed = new long[entryCount];
+        int index = 0;
+        for (var postings : matchedPostings) {
+            float factor = postings == exact ? 1f : PREFIX_MATCH_FACTOR;
+            for (int i = 0; i < postings.size(); i++) {
+                int entry = postings.get(i);
+                float weight = FIELD_WEIGHTS[entry & FIELD_MASK] * factor;
+                packed[index++] = (long) (entry >>> FIELD_BITS) << Integer.SIZE | Float.floatToIntBits(weight);
+            }
+        }
+        if (matchedPostings.size() > 1) {
+            Arrays.sort(packed);
+        }
+        var matchedDocuments = new int[entryCount];
+        var scores = new float[entryCount];
+        int size = 0;
+        for (var value : packed) {
+            int document = (int) (value >>> Integer.SIZE);
+            float weight = Float.intBitsToFloat((int) value);
+            if (size > 0 && matchedDocuments[size - 1] == document) {
+                scores[size - 1] = Math.max(scores[size - 1], weight);
+            } else {
+                matchedDocuments[size] = document;
+                scores[size++] = weight;
+            }
+        }
+        return new TermMatch(matchedDocuments, scores, size);
+    }
+
+    /**
+     * This method returns the documents matched by both terms with the sum of their scores.
+     *
+     * @param smaller term match with fewer documents
+     * @param larger  term match with more documents
+     * @return term match
+     */
+    private TermMatch intersect(TermMatch smaller, TermMatch larger) {
+        var matchedDocuments = new int[smaller.size];
+        var scores = new float[smaller.size];
+        int size = 0;
+        int position = 0;
+        for (int i = 0; i < smaller.size && position < larger.size; i++) {
+            int document = smaller.documents[i];
+            position = Arrays.binarySearch(larger.documents, position, larger.size, document);
+            if (position >= 0) {
+                matchedDocuments[size] = document;
+                scores[size++] = smaller.scores[i] + larger.scores[position];
+            } else {
+                position = -position - 1;
+            }
+        }
+        return new TermMatch(matchedDocuments, scores, size);
+    }
+
+    /**
+     * This method counts the city facets, filters by city and returns a page of the best scored hotels.
+     * Ties are ranked by document order. The offset is capped at the number of matched hotels, so the heap is never
+     * larger than the matches.
+     *
+     * @param matched matched documents
+     * @param city    city filter, null for all cities
+     * @param offset  number of ranked hotels to skip
+     * @param limit   maximum number of hotels to return
+     * @return search result
+     */
+    private HotelSearchResult rank(TermMatch matched, String city, long offset, int limit) {
+        var cityCounts = new long[cities.size()];
+        Integer cityFilter = city == null ? null : cityOrdinals.get(city);
+        if (city != null && cityFilter == null) {
+            cityFilter = -1;
+        }
+        int start = (int) Math.min(Math.max(offset, 0), matched.size);
+        var topHotels = new LongMinHeap((int) Math.min(start + (long) Math.max(limit, 0), matched.size));
+        long totalItems = 0;
+        for (int i = 0; i < matched.size; i++) {
+            int cityOrdinal = documents.get(matched.documents[i]).cityOrdinal;
+            if (cityOrdinal >= 0) {
+                cityCounts[cityOrdinal]++;
+            }
+            if (cityFilter == null || cityFilter == cityOrdinal) {
+                totalItems++;
+                topHotels.offer((long) Float.floatToIntBits(matched.scores[i]) << Integer.SIZE
+                        | (Integer.MAX_VALUE - matched.documents[i]));
+            }
+        }
+        var ranked = topHotels.toSortedDescending();
+        List<HotelSearchHit> hits = new ArrayList<>(Math.max(0, ranked.length - start));
+        for (int i = start; i < ranked.length; i++) {
+            var document = documents.get(Integer.MAX_VALUE - (int) ranked[i]);
+            var score = Float.intBitsToFloat((int) (ranked[i] >>> Integer.SIZE));
+            hits.add(new HotelSearchHit(document.id, document.name,
+                    document.cityOrdinal < 0 ? null : cities.get(document.cityOrdinal), document.address, score));
+        }
+        return new HotelSearchResult(totalItems, hits, getCityFacets(cityCounts));
+    }
+
+    private Map<String, Long> getCityFacets(long[] cityCounts) {
+        var cityOrdinalsByCount = new ArrayList<Integer>();
+        for (int i = 0; i < cityCounts.length; i++) {
+            if (cityCounts[i] > 0) {
+                cityOrdinalsByCount.add(i);
+            }
+        }
+        cityOrdinalsByCount.sort((first, second) -> Long.compare(cityCounts[second], cityCounts[first]));
+        Map<String, Long> cityFacets = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(MAX_CITY_FACETS, cityOrdinalsByCount.size()); i++) {
+            int cityOrdinal = cityOrdinalsByCount.get(i);
+            cityFacets.put(cities.get(cityOrdinal), cityCounts[cityOrdinal]);
+        }
+        return cityFacets;
+    }
+
+    /**
+     * Bounded min heap of packed (score, document) values, keeping the largest values offered.
+     */
+    private static final class LongMinHeap {
+        private final long[] values;
+        private int size;
+
+        private LongMinHeap(int capacity) {
+            this.values = new long[Math.max(0, capacity)];
+        }
+
+        private void offer(long value) {
+            if (size < values.length) {
+                values[size] = value;
+                siftUp(size++);
+            } else if (size > 0 && value > values[0]) {
+                values[0] = value;
+                siftDown(0);
+            }
+        }
+
+        private long[] toSortedDescending() {
+            var sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            for (int i = 0, j = sorted.length - 1; i < j; i++, j--) {
+                var value = sorted[i];
+                sorted[i] = sorted[j];
+                sorted[j] = value;
+            }
+            return sorted;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (values[parent] <= values[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && values[child + 1] < values[child]) {
+                    child++;
+                }
+                if (values[index] <= values[child]) {
+                    return;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        private void swap(int first, int second) {
+            var value = values[first];
+            values[first] = values[second];
+            values[second] = value;
+        }
+    }
+}
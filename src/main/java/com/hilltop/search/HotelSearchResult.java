@@ -0,0 +1,27 @@
+package com.hilltop.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of ranked hotels with the number of matching hotels per city.
+ * City facets are counted before the city filter, so clients can switch between cities.
+ */
+@Getter
+@AllArgsConstructor
+public class HotelSearchResult {
+
+    private static final HotelSearchResult EMPTY = new HotelSearchResult(0, List.of(), Collections.emptyMap());
+
+    private final long totalItems;
+    private final List<HotelSearchHit> hits;
+    private final Map<String, Long> cityFacets;
+
+    static HotelSearchResult empty() {
+        return EMPTY;
+    }
+}
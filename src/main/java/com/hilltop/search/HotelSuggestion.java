@@ -0,0 +1,15 @@
+package com.hilltop.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One completion of a typed prefix with the number of hotels behind it.
+ */
+@Getter
+@AllArgsConstructor
+public class HotelSuggestion {
+
+    private final String text;
+    private final int hotelCount;
+}
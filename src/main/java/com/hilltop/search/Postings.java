@@ -0,0 +1,81 @@
+package com.hilltop.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable list of posting entries of one term.
+ * An entry is a document id shifted left by the field bits, or'ed with the field of the match.
+ */
+final class Postings {
+
+    private static final int INITIAL_CAPACITY = 2;
+
+    private final String term;
+    private int[] entries = new int[INITIAL_CAPACITY];
+    private int size;
+
+    Postings(String term) {
+        this.term = term;
+    }
+
+    String term() {
+        return term;
+    }
+
+    /**
+     * This method adds an entry, keeping the entries sorted. Documents are mostly added in id order,
+     * so the entry is usually appended.
+     *
+     * @param entry posting entry
+     */
+    void add(int entry) {
+        int index = size == 0 || entries[size - 1] < entry ? size : Arrays.binarySearch(entries, 0, size, entry);
+        if (index >= 0 && index < size) {
+            return;
+        }
+        int insertAt = index < 0 ? -index - 1 : index;
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size + (size >> 1) + 1);
+        }
+        System.arraycopy(entries, insertAt, entries, insertAt + 1, size - insertAt);
+        entries[insertAt] = entry;
+        size++;
+    }
+
+    /**
+     * This method removes all entries between from and to, both inclusive.
+     *
+     * @param from first entry
+     * @param to   last entry
+     */
+    void removeRange(int from, int to) {
+        int start = lowerBound(from);
+        int end = lowerBound(to + 1);
+        if (start < end) {
+            System.arraycopy(entries, end, entries, start, size - end);
+            size -= end - start;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return entries[index];
+    }
+
+    /**
+     * This method returns the footprint of the entries array in bytes.
+     *
+     * @return bytes
+     */
+    long capacityBytes() {
+        return (long) entries.length * Integer.BYTES;
+    }
+
+    private int lowerBound(int entry) {
+        int index = Arrays.binarySearch(entries, 0, size, entry);
+        return index < 0 ? -index - 1 : index;
+    }
+}
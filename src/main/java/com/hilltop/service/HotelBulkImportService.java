@@ -0,0 +1,226 @@
+package com.hilltop.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hilltop.cache.CityIndex;
+import com.hilltop.cache.ClusterCacheInvalidator;
+import com.hilltop.domain.request.HotelCreateRequestDto;
+import com.hilltop.domain.response.HotelBulkCreateResponseDto;
+import com.hilltop.domain.response.HotelBulkItemResultDto;
+import com.hilltop.enums.ErrorResponseStatusType;
+import com.hilltop.enums.SuccessResponseStatusType;
+import com.hilltop.model.Hotel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * HotelBulkImportService
+ * Reads hotels from a JSON array or NDJSON stream and inserts them in JDBC batches.
+ */
+@Service
+@Slf4j
+public class HotelBulkImportService {
+
+    private final ObjectReader hotelCreateRequestReader;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CityIndex cityIndex;
+    private final ClusterCacheInvalidator clusterCacheInvalidator;
+    private final HotelSearchService hotelSearchService;
+    private final int batchSize;
+
+    public HotelBulkImportService(ObjectMapper objectMapper, EntityManager entityManager,
+                                  TransactionTemplate transactionTemplate, CityIndex cityIndex,
+                                  ClusterCacheInvalidator clusterCacheInvalidator,
+                                  HotelSearchService hotelSearchService,
+                                  @Value("${hotel.bulk.batch-size:500}") int batchSize) {
+        this.hotelCreateRequestReader = objectMapper.readerFor(HotelCreateRequestDto.class);
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.cityIndex = cityIndex;
+        this.clusterCacheInvalidator = clusterCacheInvalidator;
+        this.hotelSearchService = hotelSearchService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * This method used to create hotels from a stream of hotel create requests.
+     * Each batch is written in its own transaction, so a failed batch does not roll back earlier batches.
+     * The hotels of a failed batch are saved again one by one, so only the rows which cannot be saved fail.
+     *
+     * @param inputStream JSON array or newline delimited JSON of HotelCreateRequestDto
+     * @return HotelBulkCreateResponseDto with a result per item
+     */
+    public HotelBulkCreateResponseDto importHotels(InputStream inputStream) {
+        List<HotelBulkItemResultDto> results = new ArrayList<>();
+        List<Hotel> batch = new ArrayList<>(batchSize);
+        List<Integer> batchIndexes = new ArrayList<>(batchSize);
+        int createdCount = 0;
+        int index = 0;
+        try (var iterator = hotelCreateRequestReader.<HotelCreateRequestDto>readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                try {
+                    var hotelCreateRequest = iterator.nextValue();
+                    if (!hotelCreateRequest.isRequiredAvailable()) {
+                        results.add(getFailedResult(index, ErrorResponseStatusType.MISSING_REQUIRED_FIELDS));
+                    } else if (!hotelCreateRequest.isLocationValid()) {
+                        results.add(getFailedResult(index, ErrorResponseStatusType.INVALID_LOCATION));
+                    } else {
+                        batch.add(new Hotel(hotelCreateRequest));
+                        batchIndexes.add(index);
+                    }
+                } catch (JsonParseException e) {
+                    log.error("Bulk hotel import stopped at index: {} due to :{}", index, e.getOriginalMessage());
+                    results.add(getFailedResult(index, ErrorResponseStatusType.MALFORMED_HOTEL));
+                    break;
+                } catch (JsonMappingException e) {
+                    results.add(getFailedResult(index, ErrorResponseStatusType.MALFORMED_HOTEL));
+                }
+                index++;
+                if (batch.size() == batchSize) {
+                    createdCount += saveBatch(batch, batchIndexes, results);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Reading bulk hotel import was failed at index: {} due to :{}", index, e.toString());
+            results.add(getFailedResult(index, ErrorResponseStatusType.MALFORMED_HOTEL));
+        }
+        if (!batch.isEmpty()) {
+            createdCount += saveBatch(batch, batchIndexes, results);
+        }
+        if (createdCount > 0) {
+            clusterCacheInvalidator.publishCitiesChanged();
+        }
+        results.sort(Comparator.comparingInt(HotelBulkItemResultDto::getIndex));
+        log.info("Bulk hotel import created: {} of: {} hotels.", createdCount, results.size());
+        return new HotelBulkCreateResponseDto(results, createdCount);
+    }
+
+    /**
+     * This method inserts a batch of hotels in one transaction and clears the batch.
+     * When the batch fails, its hotels are inserted one by one unless no transaction could be started at all.
+     *
+     * @param batch        hotels to insert
+     * @param batchIndexes request indexes of the hotels
+     * @param results      item results
+     * @return number of created hotels
+     */
+    private int saveBatch(List<Hotel> batch, List<Integer> batchIndexes, List<HotelBulkItemResultDto> results) {
+        int createdCount = 0;
+        cityIndex.beginWrite();
+        try {
+            insert(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                onCreated(batch.get(i), batchIndexes.get(i), results);
+            }
+            createdCount = batch.size();
+        } catch (CannotCreateTransactionException e) {
+            log.error("Saving hotel batch of size: {} was failed due to :{}", batch.size(), e.toString());
+            failFrom(0, batchIndexes, results);
+        } catch (PersistenceException | DataAccessException | TransactionException e) {
+            log.warn("Saving hotel batch of size: {} was failed, saving its hotels one by one due to :{}",
+                    batch.size(), e.toString());
+            createdCount = saveOneByOne(batch, batchIndexes, results);
+        } finally {
+            cityIndex.endWrite();
+        }
+        batch.clear();
+        batchIndexes.clear();
+        return createdCount;
+    }
+
+    /**
+     * This method inserts each hotel of a failed batch in its own transaction.
+     *
+     * @param batch        hotels to insert
+     * @param batchIndexes request indexes of the hotels
+     * @param results      item results
+     * @return number of created hotels
+     */
+    private int saveOneByOne(List<Hotel> batch, List<Integer> batchIndexes, List<HotelBulkItemResultDto> results) {
+        int createdCount = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            var hotel = batch.get(i);
+            try {
+                insert(List.of(hotel));
+                onCreated(hotel, batchIndexes.get(i), results);
+                createdCount++;
+            } catch (CannotCreateTransactionException e) {
+                log.error("Saving hotels from index: {} was failed due to :{}", batchIndexes.get(i), e.toString());
+                failFrom(i, batchIndexes, results);
+                break;
+            } catch (PersistenceException | DataAccessException | TransactionException e) {
+                log.error("Saving hotel at index: {} was failed due to :{}", batchIndexes.get(i), e.toString());
+                results.add(getFailedResult(batchIndexes.get(i), ErrorResponseStatusType.INTERNAL_SERVER_ERROR));
+            }
+        }
+        return createdCount;
+    }
+
+    /**
+     * This method inserts hotels in one transaction.
+     *
+     * @param hotels hotels to insert
+     */
+    private void insert(List<Hotel> hotels) {
+        transactionTemplate.executeWithoutResult(status -> {
+            hotels.forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    /**
+     * This method updates the indexes with a created hotel and adds its result.
+     *
+     * @param hotel   created hotel
+     * @param index   request index
+     * @param results item results
+     */
+    private void onCreated(Hotel hotel, int index, List<HotelBulkItemResultDto> results) {
+        cityIndex.increment(hotel.getCity());
+        hotelSearchService.index(hotel);
+        clusterCacheInvalidator.publish(hotel.getId(), false);
+        results.add(new HotelBulkItemResultDto(index, hotel.getId(), SuccessResponseStatusType.CREATE_HOTEL.getCode(),
+                SuccessResponseStatusType.CREATE_HOTEL.getMessage()));
+    }
+
+    /**
+     * This method fails the items of a batch from the given position.
+     *
+     * @param from         position in the batch
+     * @param batchIndexes request indexes of the hotels
+     * @param results      item results
+     */
+    private void failFrom(int from, List<Integer> batchIndexes, List<HotelBulkItemResultDto> results) {
+        batchIndexes.subList(from, batchIndexes.size()).forEach(batchIndex ->
+                results.add(getFailedResult(batchIndex, ErrorResponseStatusType.INTERNAL_SERVER_ERROR)));
+    }
+
+    /**
+     * This method creates the result of a failed item.
+     *
+     * @param index                   request index
+     * @param errorResponseStatusType errorResponseStatusType
+     * @return item result
+     */
+    private HotelBulkItemResultDto getFailedResult(int index, ErrorResponseStatusType errorResponseStatusType) {
+        return new HotelBulkItemResultDto(index, null, errorResponseStatusType.getCode(),
+                errorResponseStatusType.getMessage());
+    }
+}
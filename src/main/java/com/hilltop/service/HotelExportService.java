@@ -0,0 +1,100 @@
+package com.hilltop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hilltop.domain.response.HotelResponseDto;
+import com.hilltop.exception.HotelServiceException;
+import com.hilltop.model.HotelExportRow;
+import com.hilltop.repository.HotelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+/**
+ * HotelExportService
+ * Writes the hotel catalogue as newline delimited JSON while reading it from a forward only cursor,
+ * so memory use does not depend on the number of hotels.
+ */
+@Service
+@Slf4j
+public class HotelExportService {
+
+    private static final String LINE_SEPARATOR = "\n";
+
+    private final HotelRepository hotelRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectWriter hotelResponseWriter;
+
+    public HotelExportService(HotelRepository hotelRepository, PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper) {
+        this.hotelRepository = hotelRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.hotelResponseWriter = objectMapper.writerFor(HotelResponseDto.class).withRootValueSeparator(LINE_SEPARATOR);
+    }
+
+    /**
+     * This method used to write all hotels as newline delimited JSON.
+     * The output stream is closed when the export is completed.
+     *
+     * @param city         city to filter, null for all cities
+     * @param outputStream outputStream
+     * @return number of exported hotels
+     */
+    public long exportHotels(String city, OutputStream outputStream) {
+        try {
+            var exportedCount = readOnlyTransactionTemplate.execute(status -> writeHotels(city, outputStream));
+            log.info("Successfully exported: {} hotels for city: {}", exportedCount, city);
+            return exportedCount == null ? 0 : exportedCount;
+        } catch (DataAccessException e) {
+            log.error("Error exporting hotels due to :{}", e.toString());
+            throw new HotelServiceException("Exporting hotels from database was failed.", e);
+        } catch (UncheckedIOException e) {
+            log.error("Error writing hotel export due to :{}", e.toString());
+            throw new HotelServiceException("Writing hotel export was failed.", e);
+        }
+    }
+
+    /**
+     * This method groups consecutive rows of the same hotel and writes each hotel as one line.
+     *
+     * @param city         city to filter, null for all cities
+     * @param outputStream outputStream
+     * @return number of written hotels
+     */
+    private long writeHotels(String city, OutputStream outputStream) {
+        long exportedCount = 0;
+        try (var rows = hotelRepository.streamAllForExport(city);
+             var sequenceWriter = hotelResponseWriter.writeValues(outputStream)) {
+            HotelResponseDto current = null;
+            Iterator<HotelExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                var row = iterator.next();
+                if (current == null || !current.getId().equals(row.getId())) {
+                    if (current != null) {
+                        sequenceWriter.write(current);
+                        exportedCount++;
+                    }
+                    current = new HotelResponseDto(row);
+                }
+                if (row.getImageUrl() != null) {
+                    current.getImageUrl().add(row.getImageUrl());
+                }
+            }
+            if (current != null) {
+                sequenceWriter.write(current);
+                exportedCount++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return exportedCount;
+    }
+}
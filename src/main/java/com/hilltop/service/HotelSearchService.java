@@ -0,0 +1,212 @@
+package com.hilltop.service;
+
+import com.hilltop.datasource.ReadWriteRoutingDataSource;
+import com.hilltop.domain.response.HotelGeoSearchResponseDto;
+import com.hilltop.domain.response.HotelSearchResponseDto;
+import com.hilltop.domain.response.HotelSuggestionResponseDto;
+import com.hilltop.exception.HotelServiceException;
+import com.hilltop.model.Hotel;
+import com.hilltop.model.HotelSearchRow;
+import com.hilltop.repository.HotelRepository;
+import com.hilltop.search.HotelCompletionIndex;
+import com.hilltop.search.HotelGeoIndex;
+import com.hilltop.search.HotelSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * HotelSearchService
+ * Serves hotel searches, name and city suggestions and location searches from the in-memory search index
+ * and keeps the index in line with hotel writes.
+ */
+@Service
+@Slf4j
+public class HotelSearchService {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final HotelSearchIndex hotelSearchIndex;
+    private final HotelCompletionIndex hotelCompletionIndex;
+    private final HotelGeoIndex hotelGeoIndex;
+    private final HotelRepository hotelRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final boolean loadOnStartup;
+
+    public HotelSearchService(HotelSearchIndex hotelSearchIndex, HotelCompletionIndex hotelCompletionIndex,
+                              HotelGeoIndex hotelGeoIndex, HotelRepository hotelRepository, PlatformTransactionManager transactionManager,
+                              @Value("${hotel.search.load-on-startup:true}") boolean loadOnStartup) {
+        this.hotelSearchIndex = hotelSearchIndex;
+        this.hotelCompletionIndex = hotelCompletionIndex;
+        this.hotelGeoIndex = hotelGeoIndex;
+        this.hotelRepository = hotelRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.loadOnStartup = loadOnStartup;
+    }
+
+    /**
+     * This method builds the search index from the database once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (loadOnStartup) {
+            loadIndex();
+        }
+    }
+
+    /**
+     * This method rebuilds the search index from all hotels in the database.
+     */
+    public void loadIndex() {
+        try {
+            var startedAt = System.currentTimeMillis();
+            hotelSearchIndex.beginLoad();
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (var rows = hotelRepository.streamAllForSearch()) {
+                    List<HotelSearchRow> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+                    rows.forEach(row -> {
+                        batch.add(row);
+                        if (batch.size() == LOAD_BATCH_SIZE) {
+                            hotelSearchIndex.loadBatch(batch);
+                            batch.clear();
+                        }
+                    });
+                    hotelSearchIndex.loadBatch(batch);
+                }
+            });
+            hotelSearchIndex.endLoad();
+            log.info("Loaded hotel search index with: {} hotels, {} located hotels and: {} completions in: {} ms.",
+                    hotelSearchIndex.size(), hotelGeoIndex.size(), hotelCompletionIndex.size(),
+                    System.currentTimeMillis() - startedAt);
+        } catch (DataAccessException e) {
+            log.error("Loading hotel search index was failed due to :{}", e.toString());
+            throw new HotelServiceException("Loading hotel search index from database was failed.", e);
+        }
+    }
+
+    /**
+     * This method used to search hotels by name, description, city and address.
+     *
+     * @param query query text, every term must match as a word or word prefix
+     * @param city  city filter, null for all cities
+     * @param page  page number
+     * @param size  page size
+     * @return HotelSearchResponseDto
+     */
+    public HotelSearchResponseDto searchHotels(String query, String city, int page, int size) {
+        var hotelSearchResult = hotelSearchIndex.search(query, city, (long) page * size, size);
+        return new HotelSearchResponseDto(query, page, size, hotelSearchResult);
+    }
+
+    /**
+     * This method used to suggest hotel names and cities starting with a typed prefix.
+     *
+     * @param prefix typed prefix
+     * @param size   maximum number of names and of cities
+     * @return HotelSuggestionResponseDto
+     */
+    public HotelSuggestionResponseDto suggest(String prefix, int size) {
+        return new HotelSuggestionResponseDto(prefix, hotelCompletionIndex.completeNames(prefix, size),
+                hotelCompletionIndex.completeCities(prefix, size));
+    }
+
+    /**
+     * This method used to find hotels within a radius of a point, nearest first.
+     *
+     * @param latitude  latitude of the point
+     * @param longitude longitude of the point
+     * @param radiusKm  radius in kilometres
+     * @param page      page number
+     * @param size      page size
+     * @return HotelGeoSearchResponseDto
+     */
+    public HotelGeoSearchResponseDto findNearby(double latitude, double longitude, double radiusKm, int page,
+                                                int size) {
+        var hotelGeoResult = hotelGeoIndex.withinRadius(latitude, longitude, radiusKm, (long) page * size, size);
+        return new HotelGeoSearchResponseDto(page, size, hotelGeoResult.getTotalItems(), hotelGeoResult.getHits());
+    }
+
+    /**
+     * This method used to find hotels inside a bounding box, nearest to the box centre first.
+     *
+     * @param minLatitude  southern edge
+     * @param minLongitude western edge
+     * @param maxLatitude  northern edge
+     * @param maxLongitude eastern edge
+     * @param page         page number
+     * @param size         page size
+     * @return HotelGeoSearchResponseDto
+     */
+    public HotelGeoSearchResponseDto findWithinBox(double minLatitude, double minLongitude, double maxLatitude,
+                                                   double maxLongitude, int page, int size) {
+        var hotelGeoResult = hotelGeoIndex.withinBox(minLatitude, minLongitude, maxLatitude, maxLongitude,
+                (long) page * size, size);
+        return new HotelGeoSearchResponseDto(page, size, hotelGeoResult.getTotalItems(), hotelGeoResult.getHits());
+    }
+
+    /**
+     * This method used to find the hotels nearest to a point.
+     *
+     * @param latitude    latitude of the point
+     * @param longitude   longitude of the point
+     * @param count       number of hotels
+     * @param maxRadiusKm hotels further away are not returned
+     * @return HotelGeoSearchResponseDto
+     */
+    public HotelGeoSearchResponseDto findNearest(double latitude, double longitude, int count, double maxRadiusKm) {
+        var hotelGeoHits = hotelGeoIndex.nearest(latitude, longitude, count, maxRadiusKm);
+        return new HotelGeoSearchResponseDto(0, count, hotelGeoHits.size(), hotelGeoHits);
+    }
+
+    /**
+     * This method adds a created or updated hotel to the search index.
+     *
+     * @param hotel hotel
+     */
+    public void index(Hotel hotel) {
+        hotelSearchIndex.index(new HotelSearchRow(hotel));
+    }
+
+    /**
+     * This method removes a deleted hotel from the search index.
+     *
+     * @param id hotel id
+     */
+    public void remove(String id) {
+        hotelSearchIndex.remove(id);
+    }
+
+    /**
+     * This method reads hotels changed by another instance and updates them in the search index.
+     * Hotels which no longer exist are removed. The hotels were written moments ago, so they are read from the primary.
+     *
+     * @param ids hotel ids
+     */
+    public void refresh(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            var missingIds = new HashSet<>(ids);
+            for (var hotel : ReadWriteRoutingDataSource.onPrimary(() -> hotelRepository.findAllById(ids))) {
+                missingIds.remove(hotel.getId());
+                index(hotel);
+            }
+            missingIds.forEach(hotelSearchIndex::remove);
+        } catch (DataAccessException e) {
+            log.error("Refreshing hotel search index was failed due to :{}", e.toString());
+            throw new HotelServiceException("Reading hotels for search index from database was failed.", e);
+        }
+    }
+}
@@ -1,33 +1,72 @@
 package com.hilltop.service;
 
+import com.hilltop.cache.CityIndex;
+import com.hilltop.cache.ClusterCacheInvalidator;
+import com.hilltop.cache.HotelCache;
+import com.hilltop.cache.SingleFlight;
+import com.hilltop.datasource.ReadWriteRoutingDataSource;
+import com.hilltop.datasource.RecentWriteTracker;
+import com.hilltop.domain.HotelCursor;
 import com.hilltop.domain.request.HotelCreateRequestDto;
 import com.hilltop.domain.response.HotelCreateResponseDto;
+import com.hilltop.domain.response.HotelListCursorResponseDto;
 import com.hilltop.domain.response.HotelResponseDto;
 import com.hilltop.exception.HotelServiceException;
 import com.hilltop.exception.InvalidHotelException;
+import com.hilltop.model.CityHotelCount;
 import com.hilltop.model.Hotel;
 import com.hilltop.repository.HotelRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * HotelService
+ * Reads run in read-only transactions, which are served by a replica when replicas are configured.
+ * Concurrent identical reads of a hotel or a city page share one database read.
+ * Reads of hotels and cities written within the read-your-writes window are served by the primary and never shared,
+ * so a read cannot join a read which started before the write.
  */
 @Service
 @Slf4j
 public class HotelService {
 
+    private static final String HOTEL_SCOPE = "hotel";
+    private static final String CITY_SCOPE = "city";
+
     private final HotelRepository hotelRepository;
+    private final CityIndex cityIndex;
+    private final HotelCache hotelCache;
+    private final ClusterCacheInvalidator clusterCacheInvalidator;
+    private final HotelSearchService hotelSearchService;
+    private final RecentWriteTracker recentWriteTracker;
+    private final SingleFlight singleFlight;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
-    public HotelService(HotelRepository hotelRepository) {
+    public HotelService(HotelRepository hotelRepository, CityIndex cityIndex, HotelCache hotelCache,
+                        ClusterCacheInvalidator clusterCacheInvalidator, HotelSearchService hotelSearchService,
+                        RecentWriteTracker recentWriteTracker, SingleFlight singleFlight,
+                        PlatformTransactionManager transactionManager) {
         this.hotelRepository = hotelRepository;
+        this.cityIndex = cityIndex;
+        this.hotelCache = hotelCache;
+        this.clusterCacheInvalidator = clusterCacheInvalidator;
+        this.hotelSearchService = hotelSearchService;
+        this.recentWriteTracker = recentWriteTracker;
+        this.singleFlight = singleFlight;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     /**
@@ -39,8 +78,18 @@ public class HotelService {
     public HotelCreateResponseDto saveHotel(HotelCreateRequestDto hotelCreateRequest) {
         try {
             var hotel = new Hotel(hotelCreateRequest);
-            log.info("Successfully saved the hotel response: {}", hotelCreateRequest.toLogJson());
-            hotelRepository.save(hotel);
+            log.info("Successfully saved the hotel response: {}", hotelCreateRequest.toLazyLogJson());
+            cityIndex.beginWrite();
+            try {
+                hotelRepository.save(hotel);
+                recentWriteTracker.recordWrite(hotel.getId(), hotel.getCity());
+                hotelCache.put(hotel);
+                cityIndex.increment(hotel.getCity());
+            } finally {
+                cityIndex.endWrite();
+            }
+            hotelSearchService.index(hotel);
+            clusterCacheInvalidator.publish(hotel.getId(), true);
             return new HotelCreateResponseDto(hotel);
         } catch (DataAccessException e) {
             log.error("Error saving hotel due to :{}", e.toString());
@@ -50,33 +99,47 @@ public class HotelService {
 
     /**
      * This method used to get hotel by id.
+     * Hotels are served from the hotel cache and read from the database on a cache miss.
      *
      * @param id hotel id
      * @return hotel
      */
     public Hotel getHotelById(String id) {
         try {
-            Optional<Hotel> hotelOptional = hotelRepository.findById(id);
-            if (hotelOptional.isPresent()) {
-                log.info("Retuning hotel by id: {}", id);
-                return hotelOptional.get();
-            } else {
-                log.error("No hotel found for id: {}", id);
-                throw new InvalidHotelException("No hotel found for id: " + id);
-            }
+            return hotelCache.get(id, this::findHotelByIdForRead);
         } catch (DataAccessException e) {
             log.error("Error get hotel by id: {} due to :{}", id, e.toString());
             throw new HotelServiceException("Reading hotel info from database was failed.", e);
         }
     }
 
+    /**
+     * This method used to get hotels by a list of ids.
+     * Hotels are served from the hotel cache and the cache misses are read from the database in one query.
+     *
+     * @param ids distinct hotel ids
+     * @return hotels by id in the order of the given ids, without the ids which do not exist
+     */
+    public Map<String, Hotel> getHotelsByIds(List<String> ids) {
+        try {
+            return hotelCache.getAll(ids, this::findHotelsByIdsForRead);
+        } catch (DataAccessException e) {
+            log.error("Error get {} hotels by ids due to :{}", ids.size(), e.toString());
+            throw new HotelServiceException("Reading hotels by ids from database was failed.", e);
+        }
+    }
+
     /**
      * This method used to get all hotel list.
      *
-     * @return HotelListResponseDto
+     * @return hotel page
      */
+    @Transactional(readOnly = true)
     public Page<Hotel> getAllHotel(Pageable pageable) {
         try {
+            if (recentWriteTracker.isAnyRecentlyWritten()) {
+                return ReadWriteRoutingDataSource.onPrimary(() -> hotelRepository.findAll(pageable));
+            }
             return hotelRepository.findAll(pageable);
         } catch (DataAccessException e) {
             log.error("Error get hotel list due to :{}", e.toString());
@@ -84,6 +147,56 @@ public class HotelService {
         }
     }
 
+    /**
+     * This method used to get a hotel list page after the given cursor.
+     * Hotels are ordered by updatedAt and id descending and read with a keyset query,
+     * so the cost of a page does not grow with its position in the list.
+     *
+     * @param cursor    cursor token of the previous page, null for the first page
+     * @param size      page size
+     * @param withCount true to count all hotels
+     * @return HotelListCursorResponseDto
+     */
+    @Transactional(readOnly = true)
+    public HotelListCursorResponseDto getHotelListByCursor(String cursor, int size, boolean withCount) {
+        if (recentWriteTracker.isAnyRecentlyWritten()) {
+            return ReadWriteRoutingDataSource.onPrimary(() -> readHotelListByCursor(cursor, size, withCount));
+        }
+        return readHotelListByCursor(cursor, size, withCount);
+    }
+
+    /**
+     * This method used to read a hotel list page after the given cursor.
+     *
+     * @param cursor    cursor token of the previous page, null for the first page
+     * @param size      page size
+     * @param withCount true to count all hotels
+     * @return HotelListCursorResponseDto
+     */
+    private HotelListCursorResponseDto readHotelListByCursor(String cursor, int size, boolean withCount) {
+        try {
+            var limit = PageRequest.of(0, size + 1);
+            List<Hotel> hotels;
+            if (cursor == null || cursor.isEmpty()) {
+                hotels = hotelRepository.findAllByOrderByUpdatedAtDescIdDesc(limit);
+            } else {
+                var hotelCursor = HotelCursor.decode(cursor);
+                hotels = hotelRepository.findAllAfter(hotelCursor.getUpdatedAt(), hotelCursor.getId(), limit);
+            }
+            String nextCursor = null;
+            if (hotels.size() > size) {
+                hotels = hotels.subList(0, size);
+                nextCursor = new HotelCursor(hotels.get(size - 1)).encode();
+            }
+            Long totalItems = withCount ? hotelRepository.count() : null;
+            var hotelResponseDtoList = hotels.stream().map(HotelResponseDto::new).collect(Collectors.toList());
+            return new HotelListCursorResponseDto(hotelResponseDtoList, nextCursor, size, totalItems);
+        } catch (DataAccessException e) {
+            log.error("Error get hotel list by cursor due to :{}", e.toString());
+            throw new HotelServiceException("Reading hotel list from database was failed.", e);
+        }
+    }
+
     /**
      * This method used to update hotel.
      *
@@ -93,9 +206,22 @@ public class HotelService {
      */
     public Hotel updateHotel(String id, HotelCreateRequestDto hotelCreateRequest) {
         try {
-            var hotelById = getHotelById(id);
+            var hotelById = ReadWriteRoutingDataSource.onPrimary(() -> findHotelById(id));
+            var oldCity = hotelById.getCity();
             hotelById.update(hotelCreateRequest);
-            return hotelRepository.save(hotelById);
+            Hotel updatedHotel;
+            cityIndex.beginWrite();
+            try {
+                updatedHotel = hotelRepository.save(hotelById);
+                recentWriteTracker.recordWrite(id, oldCity, hotelById.getCity());
+                hotelCache.invalidate(id);
+                cityIndex.move(oldCity, hotelById.getCity());
+            } finally {
+                cityIndex.endWrite();
+            }
+            hotelSearchService.index(hotelById);
+            clusterCacheInvalidator.publish(id, !oldCity.equals(hotelById.getCity()));
+            return updatedHotel;
         } catch (DataAccessException e) {
             throw new HotelServiceException("Updating hotel from database was failed.", e);
         }
@@ -108,8 +234,18 @@ public class HotelService {
      */
     public void deleteHotel(String id) {
         try {
-            var hotel = getHotelById(id);
-            hotelRepository.delete(hotel);
+            var hotel = ReadWriteRoutingDataSource.onPrimary(() -> findHotelById(id));
+            cityIndex.beginWrite();
+            try {
+                hotelRepository.delete(hotel);
+                recentWriteTracker.recordWrite(id, hotel.getCity());
+                hotelCache.invalidate(id);
+                cityIndex.decrement(hotel.getCity());
+            } finally {
+                cityIndex.endWrite();
+            }
+            hotelSearchService.remove(id);
+            clusterCacheInvalidator.publish(id, true);
             log.info("Successfully deleted the hotel by id: {}", id);
         } catch (DataAccessException e) {
             log.error("Error deleting hotel by id: {} due to : {}", id, e.toString());
@@ -119,13 +255,24 @@ public class HotelService {
 
     /**
      * This method used to get cities.
+     * Cities are served from the city index which is loaded from the database on first use.
+     * The index is kept up to date by later writes, so it is loaded from the primary rather than a replica.
+     * Counts read while a hotel is written may miss that write or include it before its increment, so they are
+     * returned once without being loaded and the index is loaded again on the next read.
      *
      * @return String List
      */
     public List<String> getAllCities() {
         try {
-            List<Hotel> allHotels = hotelRepository.findAll();
-            return allHotels.stream().map(Hotel::getCity).collect(Collectors.toList());
+            if (!cityIndex.isLoaded()) {
+                var version = cityIndex.getVersion();
+                var cityHotelCounts = ReadWriteRoutingDataSource.onPrimary(hotelRepository::findCityHotelCounts);
+                if (!cityIndex.load(cityHotelCounts, version)) {
+                    log.info("Hotel cities changed while loading the city index, it is loaded on next read.");
+                    return cityHotelCounts.stream().map(CityHotelCount::getCity).collect(Collectors.toList());
+                }
+            }
+            return cityIndex.getCities();
         } catch (DataAccessException e) {
             log.error("Error getting hotel cities");
             throw new HotelServiceException("Getting hotel cities from database was failed.", e);
@@ -133,18 +280,80 @@ public class HotelService {
     }
 
     /**
-     * This method used to get hotels by city.
+     * This method used to get a page of hotels by city.
      *
-     * @param city city
-     * @return List of HotelResponseDto
+     * @param city     city
+     * @param pageable page, size and sort
+     * @return Page of Hotel
      */
-    public List<HotelResponseDto> getHotelsByCity(String city) {
+    public Page<Hotel> getHotelsByCity(String city, Pageable pageable) {
         try {
-            List<Hotel> allByCity = hotelRepository.findAllByCity(city);
-            return allByCity.stream().map(HotelResponseDto::new).collect(Collectors.toList());
+            if (recentWriteTracker.isCityRecentlyWritten(city)) {
+                return ReadWriteRoutingDataSource.onPrimary(() -> readHotelsByCity(city, pageable));
+            }
+            return singleFlight.execute(CITY_SCOPE, List.of(city, pageable), () -> readHotelsByCity(city, pageable));
         } catch (DataAccessException e) {
             log.error("Error getting hotels by city");
             throw new HotelServiceException("Getting hotels by city from database was failed.", e);
         }
     }
+
+    /**
+     * This method used to read a hotel by id for the hotel cache.
+     * A hotel written within the read-your-writes window is read from the primary, so a lagging replica
+     * cannot put the old hotel into the cache.
+     *
+     * @param id hotel id
+     * @return hotel
+     */
+    private Hotel findHotelByIdForRead(String id) {
+        if (recentWriteTracker.isHotelRecentlyWritten(id)) {
+            return ReadWriteRoutingDataSource.onPrimary(() -> findHotelById(id));
+        }
+        return singleFlight.execute(HOTEL_SCOPE, id, () -> new Hotel(findHotelById(id)));
+    }
+
+    /**
+     * This method used to read a page of hotels by city in a read-only transaction.
+     * The hotels are detached copies with their image urls loaded, so the page can be shared by coalesced reads.
+     *
+     * @param city     city
+     * @param pageable page, size and sort
+     * @return Page of Hotel
+     */
+    private Page<Hotel> readHotelsByCity(String city, Pageable pageable) {
+        return readOnlyTransactionTemplate.execute(status -> hotelRepository.findAllByCity(city, pageable)
+                .map(Hotel::new));
+    }
+
+    /**
+     * This method used to read hotels by ids for the hotel cache.
+     * The ids are read from the primary when any of them was written within the read-your-writes window.
+     *
+     * @param ids hotel ids
+     * @return List of hotel
+     */
+    private List<Hotel> findHotelsByIdsForRead(List<String> ids) {
+        if (ids.stream().anyMatch(recentWriteTracker::isHotelRecentlyWritten)) {
+            return ReadWriteRoutingDataSource.onPrimary(() -> hotelRepository.findAllWithImageUrlByIdIn(ids));
+        }
+        return hotelRepository.findAllWithImageUrlByIdIn(ids);
+    }
+
+    /**
+     * This method used to read a hotel by id from the database.
+     *
+     * @param id hotel id
+     * @return hotel
+     */
+    private Hotel findHotelById(String id) {
+        Optional<Hotel> hotelOptional = hotelRepository.findById(id);
+        if (hotelOptional.isPresent()) {
+            log.info("Retuning hotel by id: {}", id);
+            return hotelOptional.get();
+        } else {
+            log.error("No hotel found for id: {}", id);
+            throw new InvalidHotelException("No hotel found for id: " + id);
+        }
+    }
 }
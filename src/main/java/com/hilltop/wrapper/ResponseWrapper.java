@@ -1,6 +1,7 @@
 package com.hilltop.wrapper;
 
 import com.hilltop.domain.BaseDto;
+import com.hilltop.domain.json.JsonWriters;
 import com.hilltop.enums.ResponseStatusType;
 import com.hilltop.domain.response.ResponseDto;
 import lombok.Getter;
@@ -31,6 +32,6 @@ public class ResponseWrapper implements BaseDto {
 
     @Override
     public String toLogJson() {
-        return toJson();
+        return JsonWriters.toLogJson(this);
     }
 }
@@ -0,0 +1,192 @@
+package com.hilltop.cache;
+
+import com.hilltop.datasource.RecentWriteTracker;
+import com.hilltop.domain.request.CacheInvalidationRequestDto;
+import com.hilltop.domain.request.HotelCreateRequestDto;
+import com.hilltop.model.Hotel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+class ClusterCacheInvalidatorTest {
+    private static final String SERVICE_ID = "hotel-service";
+    private static final String HOTEL_ID = "hid-1235-1458-1785";
+    private static final int MAX_RETRIES = 2;
+
+    @Mock
+    private DiscoveryClient discoveryClient;
+    private final Map<String, Peer> peers = new HashMap<>();
+    private final AtomicInteger sentBatches = new AtomicInteger();
+    private final Set<String> unreachable = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        List<ServiceInstance> instances = new ArrayList<>();
+        for (String instanceId : List.of("node-a", "node-b", "node-c")) {
+            instances.add(new DefaultServiceInstance(instanceId, SERVICE_ID, "localhost", 8083, false));
+            peers.put(instanceId, new Peer(instanceId));
+        }
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(instances);
+    }
+
+    @Test
+    void Should_InvalidateHotelOnPeers_When_HotelIsUpdatedOnOneNode() {
+        var hotel = generateHotel();
+        peers.values().forEach(peer -> peer.hotelCache.put(hotel));
+        peers.values().forEach(peer -> peer.cityIndex.load(new ArrayList<>(), peer.cityIndex.getVersion()));
+
+        var nodeA = peers.get("node-a");
+        nodeA.hotelCache.invalidate(HOTEL_ID);
+        nodeA.invalidator.publish(HOTEL_ID, true);
+        nodeA.invalidator.flush();
+
+        for (String instanceId : List.of("node-b", "node-c")) {
+            var peer = peers.get(instanceId);
+            assertEquals("reloaded", peer.hotelCache.get(HOTEL_ID, id -> renamed(hotel)).getName());
+            assertFalse(peer.cityIndex.isLoaded());
+        }
+    }
+
+    @Test
+    void Should_CoalesceInvalidations_When_SameHotelIsPublishedManyTimes() {
+        var nodeA = peers.get("node-a");
+        for (int i = 0; i < 10; i++) {
+            nodeA.invalidator.publish(HOTEL_ID, false);
+        }
+        nodeA.invalidator.publish("hid-2", false);
+        nodeA.invalidator.flush();
+        nodeA.invalidator.flush();
+
+        // one batch to each of the two peers
+        assertEquals(2, sentBatches.get());
+    }
+
+    @Test
+    void Should_RetryInvalidation_When_PeerWasUnreachable() {
+        var hotel = generateHotel();
+        var nodeC = peers.get("node-c");
+        nodeC.hotelCache.put(hotel);
+        nodeC.cityIndex.load(new ArrayList<>(), nodeC.cityIndex.getVersion());
+        unreachable.add("node-c");
+
+        var nodeA = peers.get("node-a");
+        nodeA.invalidator.publish(HOTEL_ID, true);
+        nodeA.invalidator.flush();
+        nodeA.invalidator.publish("hid-2", false);
+        nodeA.invalidator.flush();
+        assertEquals("Hilton", nodeC.hotelCache.get(HOTEL_ID, id -> renamed(hotel)).getName());
+        assertEquals(1, nodeA.invalidator.getBackloggedPeers());
+
+        unreachable.clear();
+        nodeA.invalidator.flush();
+        assertEquals("reloaded", nodeC.hotelCache.get(HOTEL_ID, id -> renamed(hotel)).getName());
+        assertFalse(nodeC.cityIndex.isLoaded());
+        assertEquals(0, nodeA.invalidator.getBackloggedPeers());
+    }
+
+    @Test
+    void Should_ResetPeer_When_RetriesAreExhausted() {
+        var hotel = generateHotel();
+        var otherHotel = renamed(hotel);
+        otherHotel.setId("hid-2");
+        var nodeC = peers.get("node-c");
+        nodeC.hotelCache.put(hotel);
+        nodeC.hotelCache.put(otherHotel);
+        nodeC.cityIndex.load(new ArrayList<>(), nodeC.cityIndex.getVersion());
+        unreachable.add("node-c");
+
+        var nodeA = peers.get("node-a");
+        nodeA.invalidator.publish(HOTEL_ID, false);
+        for (int i = 0; i < MAX_RETRIES * 3; i++) {
+            nodeA.invalidator.flush();
+            assertEquals(1, nodeA.invalidator.getBackloggedPeers());
+        }
+
+        unreachable.clear();
+        sentBatches.set(0);
+        nodeA.invalidator.flush();
+        assertEquals(1, sentBatches.get());
+        assertEquals(0, nodeA.invalidator.getBackloggedPeers());
+        assertEquals("reloaded", nodeC.hotelCache.get(HOTEL_ID, id -> renamed(hotel)).getName());
+        assertEquals("Hilton", nodeC.hotelCache.get("hid-2", id -> hotel).getName());
+        assertFalse(nodeC.cityIndex.isLoaded());
+    }
+
+    @Test
+    void Should_ForgetPeerBacklog_When_PeerLeavesDiscovery() {
+        unreachable.add("node-c");
+        var nodeA = peers.get("node-a");
+        nodeA.invalidator.publish(HOTEL_ID, false);
+        nodeA.invalidator.flush();
+        assertEquals(1, nodeA.invalidator.getBackloggedPeers());
+
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(List.of(
+                new DefaultServiceInstance("node-a", SERVICE_ID, "localhost", 8083, false),
+                new DefaultServiceInstance("node-b", SERVICE_ID, "localhost", 8083, false)));
+        nodeA.invalidator.flush();
+        assertEquals(0, nodeA.invalidator.getBackloggedPeers());
+    }
+
+    private Hotel generateHotel() {
+        var hotelCreateRequestDto = new HotelCreateRequestDto();
+        hotelCreateRequestDto.setName("Hilton");
+        hotelCreateRequestDto.setCity("Colombo");
+        var hotel = new Hotel(hotelCreateRequestDto);
+        hotel.setId(HOTEL_ID);
+        return hotel;
+    }
+
+    private Hotel renamed(Hotel hotel) {
+        var reloaded = new Hotel(hotel);
+        reloaded.setName("reloaded");
+        return reloaded;
+    }
+
+    /**
+     * In-process hotel-service instance with its own caches.
+     */
+    private class Peer {
+        private final HotelCache hotelCache = new HotelCache(100, Duration.ofMinutes(1));
+        private final CityIndex cityIndex = new CityIndex();
+        private final ClusterCacheInvalidator invalidator;
+
+        @SuppressWarnings("unchecked")
+        Peer(String instanceId) {
+            var registration = mock(Registration.class);
+            when(registration.getInstanceId()).thenReturn(instanceId);
+            ObjectProvider<Registration> registrationProvider = mock(ObjectProvider.class);
+            when(registrationProvider.getIfAvailable()).thenReturn(registration);
+            invalidator = new ClusterCacheInvalidator(discoveryClient, this::deliver, registrationProvider,
+                    hotelCache, cityIndex, new RecentWriteTracker(Duration.ofSeconds(2)), SERVICE_ID, 500, MAX_RETRIES);
+        }
+
+        private void deliver(ServiceInstance target, CacheInvalidationRequestDto cacheInvalidationRequestDto) {
+            if (unreachable.contains(target.getInstanceId())) {
+                throw new IllegalStateException("Connection refused: " + target.getInstanceId());
+            }
+            sentBatches.incrementAndGet();
+            peers.get(target.getInstanceId()).invalidator.apply(cacheInvalidationRequestDto);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.hilltop.cache;
+
+import com.hilltop.domain.request.HotelCreateRequestDto;
+import com.hilltop.model.Hotel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HotelCacheTest {
+    private static final String HOTEL_ID = "hid-1235-1458-1785";
+    private static final String OTHER_HOTEL_ID = "hid-2";
+
+    private HotelCache hotelCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        hotelCache = new HotelCache(100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void Should_CacheLoadedHotel_When_NoInvalidationOverlapsLoad() {
+        hotelCache.get(HOTEL_ID, this::load);
+        hotelCache.get(HOTEL_ID, this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void Should_NotCacheLoadedHotel_When_HotelIsInvalidatedDuringLoad() {
+        hotelCache.get(HOTEL_ID, id -> {
+            hotelCache.invalidate(id);
+            return load(id);
+        });
+        assertEquals("Hilton", hotelCache.get(HOTEL_ID, this::load).getName());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void Should_CacheOnlyHotelsNotInvalidated_When_HotelsAreLoadedTogether() {
+        hotelCache.getAll(List.of(HOTEL_ID, OTHER_HOTEL_ID), ids -> {
+            hotelCache.invalidate(HOTEL_ID);
+            return ids.stream().map(this::load).collect(Collectors.toList());
+        });
+        hotelCache.get(OTHER_HOTEL_ID, this::load);
+        hotelCache.get(HOTEL_ID, this::load);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void Should_NotCacheLoadedHotel_When_CacheIsClearedDuringLoad() {
+        hotelCache.get(OTHER_HOTEL_ID, this::load);
+        hotelCache.get(HOTEL_ID, id -> {
+            hotelCache.invalidateAll();
+            return load(id);
+        });
+        hotelCache.get(HOTEL_ID, this::load);
+        hotelCache.get(OTHER_HOTEL_ID, this::load);
+
+        assertEquals(4, loads.get());
+    }
+
+    private Hotel load(String id) {
+        loads.incrementAndGet();
+        var hotelCreateRequestDto = new HotelCreateRequestDto();
+        hotelCreateRequestDto.setName("Hilton");
+        hotelCreateRequestDto.setCity("Colombo");
+        var hotel = new Hotel(hotelCreateRequestDto);
+        hotel.setId(id);
+        return hotel;
+    }
+}
@@ -0,0 +1,144 @@
+package com.hilltop.cache;
+
+import com.hilltop.exception.InvalidHotelException;
+import com.hilltop.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final String SCOPE = "hotel";
+    private static final String KEY = "hid-1235-1458-1785";
+    private static final int FOLLOWERS = 8;
+
+    private SingleFlight singleFlight;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executorService;
+    private CountDownLatch release;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight(List.of(SCOPE), Duration.ofSeconds(5), Duration.ofSeconds(1));
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight.bindTo(meterRegistry);
+        executorService = Executors.newFixedThreadPool(FOLLOWERS + 1);
+        release = new CountDownLatch(1);
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void Should_ShareOneRead_When_SameKeyIsReadConcurrently() throws Exception {
+        var results = readConcurrently(SCOPE, () -> "Hilton");
+        release.countDown();
+
+        for (var result : results) {
+            assertEquals("Hilton", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, getCalls("leader"));
+        assertEquals(FOLLOWERS, getCalls("follower"));
+        assertEquals(0, singleFlight.getInFlight(SCOPE));
+    }
+
+    @Test
+    void Should_ShareException_When_SharedReadFails() throws Exception {
+        var results = readConcurrently(SCOPE, () -> {
+            throw new InvalidHotelException("No hotel found for id: " + KEY);
+        });
+        release.countDown();
+
+        for (var result : results) {
+            var executionException = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(InvalidHotelException.class, executionException.getCause());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.getInFlight(SCOPE));
+    }
+
+    @Test
+    void Should_ThrowServiceOverloaded_When_SharedReadDoesNotCompleteInTime() throws Exception {
+        singleFlight = new SingleFlight(List.of(SCOPE), Duration.ofMillis(50), Duration.ofSeconds(1));
+        singleFlight.bindTo(meterRegistry = new SimpleMeterRegistry());
+        executorService.submit(() -> read(SCOPE, () -> "Hilton"));
+        awaitInFlight();
+
+        assertThrows(ServiceOverloadedException.class, () -> singleFlight.execute(SCOPE, KEY, () -> "Kingsbury"));
+        assertEquals(1, meterRegistry.get("hotel.single.flight.timeouts").functionCounter().count());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void Should_ReadEveryTime_When_ScopeIsNotCoalesced() throws Exception {
+        var results = readConcurrently("city", () -> "Colombo");
+        release.countDown();
+
+        for (var result : results) {
+            assertEquals("Colombo", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(FOLLOWERS + 1, loads.get());
+    }
+
+    private List<Future<String>> readConcurrently(String scope, Supplier<String> loader) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i <= FOLLOWERS; i++) {
+            results.add(executorService.submit(() -> read(scope, loader)));
+            if (i == 0 && SCOPE.equals(scope)) {
+                awaitInFlight();
+            }
+        }
+        if (SCOPE.equals(scope)) {
+            while (getCalls("follower") < FOLLOWERS) {
+                Thread.sleep(1);
+            }
+        }
+        return results;
+    }
+
+    private String read(String scope, Supplier<String> loader) {
+        return singleFlight.execute(scope, KEY, () -> {
+            loads.incrementAndGet();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.get();
+        });
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        while (singleFlight.getInFlight(SCOPE) == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private double getCalls(String role) {
+        return meterRegistry.get("hotel.single.flight.calls").tag("role", role).functionCounter().count();
+    }
+}
@@ -0,0 +1,40 @@
+package com.hilltop.configuration;
+
+import com.hilltop.enums.ErrorResponseStatusType;
+import com.hilltop.enums.SuccessResponseStatusType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResourceBundleMessageSourceBeanTest {
+
+    private ResourceBundleMessageSource messageSource;
+
+    @BeforeEach
+    void setUp() {
+        messageSource = new ResourceBundleMessageSourceBean().messageSource();
+        messageSource.setUseCodeAsDefaultMessage(false);
+    }
+
+    @Test
+    void Should_HaveDisplayMessage_When_ErrorCodeIsDefined() {
+        for (var errorType : ErrorResponseStatusType.values()) {
+            var code = ErrorResponseStatusType.getCodeString(errorType.getCode());
+            assertEquals(errorType.getMessage(), messageSource.getMessage(code, null, Locale.ENGLISH),
+                    "Display message of error code " + code);
+        }
+    }
+
+    @Test
+    void Should_HaveDisplayMessage_When_SuccessCodeIsDefined() {
+        for (var successType : SuccessResponseStatusType.values()) {
+            var code = successType.getCodeString(successType.getCode());
+            assertEquals(successType.getMessage(), messageSource.getMessage(code, null, Locale.ENGLISH),
+                    "Display message of success code " + code);
+        }
+    }
+}
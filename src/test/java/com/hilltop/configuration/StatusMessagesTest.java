@@ -0,0 +1,57 @@
+package com.hilltop.configuration;
+
+import com.hilltop.enums.ErrorResponseStatusType;
+import com.hilltop.enums.SuccessResponseStatusType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StatusMessagesTest {
+
+    private static final Locale SINHALA = new Locale("si");
+
+    private StatusMessages statusMessages;
+
+    @BeforeEach
+    void setUp() {
+        var messageSource = new StaticMessageSource();
+        messageSource.setUseCodeAsDefaultMessage(true);
+        messageSource.addMessage("2001", Locale.ENGLISH, "Hotel returned.");
+        messageSource.addMessage("2001", SINHALA, "Hotel eka labuna.");
+        messageSource.addMessage("4000", Locale.ENGLISH, "Invalid hotel id.");
+        statusMessages = new StatusMessages(messageSource, List.of(Locale.ENGLISH, SINHALA));
+    }
+
+    @Test
+    void Should_ReturnMessageOfRequestLanguage_When_LanguageIsSupported() {
+        var localeIndex = statusMessages.getLocaleIndex(new Locale("si", "LK"));
+        assertEquals("Hotel eka labuna.", statusMessages.getSuccessMessage(SuccessResponseStatusType.READ_HOTEL,
+                localeIndex));
+    }
+
+    @Test
+    void Should_ReturnMessageOfFirstLocale_When_LanguageIsNotSupported() {
+        var localeIndex = statusMessages.getLocaleIndex(Locale.FRENCH);
+        assertEquals("Hotel returned.", statusMessages.getSuccessMessage(SuccessResponseStatusType.READ_HOTEL,
+                localeIndex));
+    }
+
+    @Test
+    void Should_ShareErrorResponse_When_SameErrorIsReturnedTwice() {
+        var errorResponse = statusMessages.getErrorResponse(ErrorResponseStatusType.INVALID_HOTEL_ID, 0);
+        assertSame(errorResponse, statusMessages.getErrorResponse(ErrorResponseStatusType.INVALID_HOTEL_ID, 0));
+        assertEquals("Invalid hotel id.", errorResponse.getDisplayMessage());
+        assertEquals(ErrorResponseStatusType.INVALID_HOTEL_ID.getCode(), errorResponse.getErrorCode());
+    }
+
+    @Test
+    void Should_ReturnCode_When_MessageIsMissing() {
+        assertEquals("2002", statusMessages.getSuccessMessage(SuccessResponseStatusType.READ_HOTEL_LIST, 0));
+    }
+}
@@ -0,0 +1,96 @@
+package com.hilltop.controller;
+
+import com.hilltop.cache.ClusterCacheInvalidator;
+import com.hilltop.cache.RestCachePeerTransport;
+import com.hilltop.configuration.ResourceBundleMessageSourceBean;
+import com.hilltop.configuration.Translator;
+import com.hilltop.domain.request.CacheInvalidationRequestDto;
+import com.hilltop.enums.ErrorResponseStatusType;
+import com.hilltop.service.HotelSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CacheControllerTest {
+
+    private static final String INVALIDATE_CACHE_URL = "/api/v1/internal/cache/invalidations";
+    private static final String PEER_TOKEN = "s3cr3t-peer-token";
+    private static final String HOTEL_ID = "hid-1235-1458-1785";
+
+    @Mock
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+    @Mock
+    private HotelSearchService hotelSearchService;
+    private Translator translator;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        translator = new Translator(new ResourceBundleMessageSourceBean().messageSource(), List.of(Locale.ENGLISH));
+    }
+
+    @Test
+    void Should_ApplyInvalidation_When_PeerTokenIsValid() throws Exception {
+        getMockMvc(PEER_TOKEN).perform(getInvalidationRequest().header(RestCachePeerTransport.PEER_TOKEN_HEADER,
+                        PEER_TOKEN))
+                .andExpect(status().isOk());
+        verify(clusterCacheInvalidator, times(1)).apply(any(CacheInvalidationRequestDto.class));
+        verify(hotelSearchService, times(1)).refresh(List.of(HOTEL_ID));
+    }
+
+    @Test
+    void Should_RejectInvalidation_When_PeerTokenIsMissing() throws Exception {
+        getMockMvc(PEER_TOKEN).perform(getInvalidationRequest())
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.INVALID_PEER_TOKEN.getCode()));
+        verifyNotApplied();
+    }
+
+    @Test
+    void Should_RejectInvalidation_When_PeerTokenIsWrong() throws Exception {
+        getMockMvc(PEER_TOKEN).perform(getInvalidationRequest().header(RestCachePeerTransport.PEER_TOKEN_HEADER,
+                        "guess"))
+                .andExpect(status().isUnauthorized());
+        verifyNotApplied();
+    }
+
+    @Test
+    void Should_RejectInvalidation_When_NoPeerTokenIsConfigured() throws Exception {
+        getMockMvc("").perform(getInvalidationRequest().header(RestCachePeerTransport.PEER_TOKEN_HEADER, ""))
+                .andExpect(status().isUnauthorized());
+        verifyNotApplied();
+    }
+
+    private MockMvc getMockMvc(String peerToken) {
+        return MockMvcBuilders.standaloneSetup(new CacheController(translator, clusterCacheInvalidator,
+                hotelSearchService, peerToken)).build();
+    }
+
+    private MockHttpServletRequestBuilder getInvalidationRequest() {
+        return MockMvcRequestBuilders.post(INVALIDATE_CACHE_URL)
+                .content(new CacheInvalidationRequestDto(List.of(HOTEL_ID), true, false).toJson())
+                .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON);
+    }
+
+    private void verifyNotApplied() {
+        verify(clusterCacheInvalidator, never()).apply(any(CacheInvalidationRequestDto.class));
+        verify(hotelSearchService, never()).refresh(anyCollection());
+    }
+}
@@ -1,10 +1,31 @@
 package com.hilltop.controller;
 
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.hilltop.admission.AdmissionInterceptor;
+import com.hilltop.admission.AdmissionLimiter;
+import com.hilltop.configuration.ResourceBundleMessageSourceBean;
 import com.hilltop.configuration.Translator;
+import com.hilltop.domain.request.HotelBatchRequestDto;
 import com.hilltop.domain.request.HotelCreateRequestDto;
+import com.hilltop.domain.response.HotelBulkCreateResponseDto;
+import com.hilltop.domain.response.HotelListCursorResponseDto;
+import com.hilltop.domain.response.HotelGeoSearchResponseDto;
+import com.hilltop.domain.response.HotelSearchResponseDto;
+import com.hilltop.domain.response.HotelSuggestionResponseDto;
+import com.hilltop.enums.ErrorResponseStatusType;
+import com.hilltop.enums.SuccessResponseStatusType;
 import com.hilltop.exception.HotelServiceException;
+import com.hilltop.exception.InvalidCursorException;
 import com.hilltop.exception.InvalidHotelException;
+import com.hilltop.metrics.ResponseCodeTagsContributor;
 import com.hilltop.model.Hotel;
+import com.hilltop.search.HotelGeoHit;
+import com.hilltop.search.HotelSearchHit;
+import com.hilltop.search.HotelSearchResult;
+import com.hilltop.search.HotelSuggestion;
+import com.hilltop.service.HotelBulkImportService;
+import com.hilltop.service.HotelExportService;
+import com.hilltop.service.HotelSearchService;
 import com.hilltop.service.HotelService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,29 +33,52 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class HotelControllerTest {
 
     private static final String CREATE_HOTEL_URL = "/api/v1/hotel";
+    private static final String BULK_CREATE_HOTEL_URL = "/api/v1/hotel/bulk";
     private static final String GET_HOTEL_CITIES_URL = "/api/v1/hotel/cities";
     private static final String GET_HOTEL_BY_CITY_URL = "/api/v1/hotel/city/{city}";
     private static final String UPDATE_HOTEL_URL = "/api/v1/hotel/{id}";
     private static final String GET_HOTEL_BY_ID_URL = "/api/v1/hotel/{id}";
     private static final String GET_HOTEL_LIST = "/api/v1/hotel?page=0&size=10";
+    private static final String GET_HOTEL_BATCH_URL = "/api/v1/hotel/batch";
+    private static final String EXPORT_HOTELS_URL = "/api/v1/hotel/export";
+    private static final String SEARCH_HOTELS_URL = "/api/v1/hotel/search";
+    private static final String SUGGEST_HOTELS_URL = "/api/v1/hotel/suggest";
+    private static final String NEARBY_HOTELS_URL = "/api/v1/hotel/nearby";
+    private static final String WITHIN_BOX_HOTELS_URL = "/api/v1/hotel/within";
+    private static final String GET_HOTEL_LIST_BY_CURSOR = "/api/v1/hotel/cursor?size=10&cursor=abc";
     private static final String HOTEL_ID = "hid-1235-1458-1785";
     private static final String SUCCESS_STATUS = "SUCCESS";
     private static final String CITY = "Kalutara";
@@ -44,13 +88,20 @@ class HotelControllerTest {
     @Mock
     private HotelService hotelService;
     @Mock
+    private HotelBulkImportService hotelBulkImportService;
+    @Mock
+    private HotelExportService hotelExportService;
+    @Mock
+    private HotelSearchService hotelSearchService;
     private Translator translator;
     private MockMvc mockMvc;
 
     @BeforeEach
     void setUp() {
         initMocks(this);
-        HotelController hotelController = new HotelController(translator, hotelService);
+        translator = new Translator(new ResourceBundleMessageSourceBean().messageSource(), List.of(Locale.ENGLISH));
+        HotelController hotelController = new HotelController(translator, hotelService, hotelBulkImportService,
+                hotelExportService, hotelSearchService);
         mockMvc = MockMvcBuilders.standaloneSetup(hotelController).build();
     }
 
@@ -62,7 +113,7 @@ class HotelControllerTest {
     void Should_ReturnOk_When_CreatingAHotel() throws Exception {
         HotelCreateRequestDto hotelCreateRequestDto = getHotelCreateRequestDto();
         mockMvc.perform(MockMvcRequestBuilders.post(CREATE_HOTEL_URL)
-                        .content(hotelCreateRequestDto.toLogJson())
+                        .content(hotelCreateRequestDto.toJson())
                         .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isCreated());
     }
@@ -72,27 +123,78 @@ class HotelControllerTest {
         HotelCreateRequestDto hotelCreateRequestDto = getHotelCreateRequestDto();
         hotelCreateRequestDto.setName(null);
         mockMvc.perform(MockMvcRequestBuilders.post(CREATE_HOTEL_URL)
-                        .content(hotelCreateRequestDto.toLogJson())
+                        .content(hotelCreateRequestDto.toJson())
                         .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void Should_ReturnBadRequest_When_CreatingAHotelWithInvalidLocation() throws Exception {
+        HotelCreateRequestDto hotelCreateRequestDto = getHotelCreateRequestDto();
+        hotelCreateRequestDto.setLatitude(91.0);
+        hotelCreateRequestDto.setLongitude(79.85);
+        mockMvc.perform(MockMvcRequestBuilders.post(CREATE_HOTEL_URL)
+                        .content(hotelCreateRequestDto.toJson())
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.INVALID_LOCATION.getCode()));
+    }
+
     @Test
     void Should_ReturnInternalServerError_When_CreatingAHotel() throws Exception {
         HotelCreateRequestDto hotelCreateRequestDto = getHotelCreateRequestDto();
         doThrow(new HotelServiceException("ERROR")).when(hotelService).saveHotel(any());
         mockMvc.perform(MockMvcRequestBuilders.post(CREATE_HOTEL_URL)
-                        .content(hotelCreateRequestDto.toLogJson())
+                        .content(hotelCreateRequestDto.toJson())
                         .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    void Should_ReturnOk_When_CreatingHotelsInBulk() throws Exception {
+        when(hotelBulkImportService.importHotels(any()))
+                .thenReturn(new HotelBulkCreateResponseDto(new ArrayList<>(), 0));
+        mockMvc.perform(MockMvcRequestBuilders.post(BULK_CREATE_HOTEL_URL)
+                        .content(getHotelCreateRequestDto().toJson())
+                        .contentType("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.createdCount").value(0));
+    }
+
     @Test
     void Should_ReturnOk_When_ValidHotelIdIsProvided() throws Exception {
         String url = GET_HOTEL_BY_ID_URL.replace("{id}", HOTEL_ID);
         Hotel hotel = generateHotel();
         when(hotelService.getHotelById(HOTEL_ID)).thenReturn(hotel);
         mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isOk())
+                .andExpect(request().attribute(ResponseCodeTagsContributor.RESPONSE_CODE_ATTRIBUTE,
+                        SuccessResponseStatusType.READ_HOTEL.getCode()));
+    }
+
+    @Test
+    void Should_ReturnNotModified_When_HotelETagMatches() throws Exception {
+        String url = GET_HOTEL_BY_ID_URL.replace("{id}", HOTEL_ID);
+        Hotel hotel = generateHotel();
+        when(hotelService.getHotelById(HOTEL_ID)).thenReturn(hotel);
+        var eTag = mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void Should_ReturnOk_When_HotelIsModifiedAfterETag() throws Exception {
+        String url = GET_HOTEL_BY_ID_URL.replace("{id}", HOTEL_ID);
+        Hotel hotel = generateHotel();
+        when(hotelService.getHotelById(HOTEL_ID)).thenReturn(hotel);
+        var eTag = mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        hotel.setUpdatedAt(hotel.getUpdatedAt() + 1);
+        mockMvc.perform(MockMvcRequestBuilders.get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
                 .andExpect(status().isOk());
     }
 
@@ -138,6 +240,91 @@ class HotelControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    void Should_ReturnServiceUnavailable_When_NoDatabaseConnectionIsFreeInTime() throws Exception {
+        String url = GET_HOTEL_BY_ID_URL.replace("{id}", HOTEL_ID);
+        doThrow(new CannotCreateTransactionException("ERROR", new SQLTransientConnectionException("timeout")))
+                .when(hotelService).getHotelById(HOTEL_ID);
+        mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.SERVICE_OVERLOADED.getCode()));
+    }
+
+    @Test
+    void Should_ReturnServiceUnavailable_When_RequestIsNotAdmitted() throws Exception {
+        var admissionLimiter = new AdmissionLimiter(1, Duration.ZERO, Duration.ofSeconds(2));
+        var admittedMockMvc = MockMvcBuilders.standaloneSetup(new HotelController(translator, hotelService,
+                hotelBulkImportService, hotelExportService, hotelSearchService))
+                .addInterceptors(new AdmissionInterceptor(admissionLimiter)).build();
+        String url = GET_HOTEL_BY_ID_URL.replace("{id}", HOTEL_ID);
+        when(hotelService.getHotelById(HOTEL_ID)).thenReturn(generateHotel());
+        admittedMockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isOk());
+        assertEquals(0, admissionLimiter.getInUse());
+
+        admissionLimiter.acquire();
+        admittedMockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.SERVICE_OVERLOADED.getCode()));
+        verify(hotelService, times(1)).getHotelById(HOTEL_ID);
+    }
+
+    @Test
+    void Should_HoldAdmissionPermit_When_ExportIsStreaming() throws Exception {
+        var admissionLimiter = new AdmissionLimiter(1, Duration.ZERO, Duration.ofSeconds(2));
+        var admittedMockMvc = MockMvcBuilders.standaloneSetup(new HotelController(translator, hotelService,
+                hotelBulkImportService, hotelExportService, hotelSearchService))
+                .addInterceptors(new AdmissionInterceptor(admissionLimiter)).build();
+        var mvcResult = admittedMockMvc.perform(MockMvcRequestBuilders.get(EXPORT_HOTELS_URL).param("city", CITY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1, admissionLimiter.getInUse());
+        admittedMockMvc.perform(MockMvcRequestBuilders.get(EXPORT_HOTELS_URL))
+                .andExpect(status().isServiceUnavailable());
+
+        admittedMockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+        assertEquals(0, admissionLimiter.getInUse());
+    }
+
+    @Test
+    void Should_ReturnFoundAndMissingHotels_When_GettingHotelsByIds() throws Exception {
+        var hotel = generateHotel();
+        when(hotelService.getHotelsByIds(List.of(hotel.getId(), HOTEL_ID))).thenReturn(Map.of(hotel.getId(), hotel));
+        mockMvc.perform(MockMvcRequestBuilders.post(GET_HOTEL_BATCH_URL)
+                        .content(new HotelBatchRequestDto(List.of(hotel.getId(), HOTEL_ID, hotel.getId())).toJson())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hotelResponseDto.length()").value(1))
+                .andExpect(jsonPath("$.data.hotelResponseDto[0].id").value(hotel.getId()))
+                .andExpect(jsonPath("$.data.missingIds[0]").value(HOTEL_ID));
+    }
+
+    @Test
+    void Should_ReturnBadRequest_When_TooManyHotelIdsRequested() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            ids.add(HOTEL_ID + i);
+        }
+        mockMvc.perform(MockMvcRequestBuilders.post(GET_HOTEL_BATCH_URL)
+                        .content(new HotelBatchRequestDto(ids).toJson())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.HOTEL_BATCH_TOO_LARGE.getCode()));
+        verify(hotelService, never()).getHotelsByIds(any());
+    }
+
+    @Test
+    void Should_ReturnBadRequest_When_HotelIdsAreMissing() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post(GET_HOTEL_BATCH_URL)
+                        .content(new HotelBatchRequestDto(List.of(" ")).toJson())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.MISSING_REQUIRED_FIELDS.getCode()));
+    }
+
     @Test
     void Should_ReturnOk_When_ValidPageAndSizeProvidedForGetAllHotelList() throws Exception {
         Page<Hotel> hotelPage = getHotelPage();
@@ -148,6 +335,31 @@ class HotelControllerTest {
                 .andExpect(jsonPath("$.status").value(SUCCESS_STATUS));
     }
 
+    @Test
+    void Should_ReturnCbor_When_ClientAcceptsCbor() throws Exception {
+        Page<Hotel> hotelPage = getHotelPage();
+        when(hotelService.getAllHotel(any())).thenReturn(hotelPage);
+        var body = mockMvc.perform(MockMvcRequestBuilders.get(GET_HOTEL_LIST).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        var response = new CBORMapper().readTree(body);
+        assertEquals(SUCCESS_STATUS, response.get("status").asText());
+        assertEquals(hotelPage.getContent().get(0).getId(),
+                response.get("data").get("hotelResponseDto").get(0).get("id").asText());
+    }
+
+    @Test
+    void Should_ReturnNotModified_When_HotelPageETagMatches() throws Exception {
+        Page<Hotel> hotelPage = getHotelPage();
+        when(hotelService.getAllHotel(any())).thenReturn(hotelPage);
+        var eTag = mockMvc.perform(MockMvcRequestBuilders.get(GET_HOTEL_LIST))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get(GET_HOTEL_LIST).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void Should_ReturnInternalServerError_When_GetAllHotelIsFailed() throws Exception {
         doThrow(new HotelServiceException("ERROR")).when(hotelService).getAllHotel(any());
@@ -155,13 +367,133 @@ class HotelControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    void Should_ReturnOk_When_GetHotelListByCursorRequested() throws Exception {
+        var hotelListCursorResponseDto = new HotelListCursorResponseDto(new ArrayList<>(), null, 10, null);
+        when(hotelService.getHotelListByCursor("abc", 10, false)).thenReturn(hotelListCursorResponseDto);
+        mockMvc.perform(MockMvcRequestBuilders.get(GET_HOTEL_LIST_BY_CURSOR))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(SUCCESS_STATUS));
+    }
+
+    @Test
+    void Should_ReturnBadRequest_When_InvalidCursorIsProvided() throws Exception {
+        doThrow(new InvalidCursorException("ERROR")).when(hotelService).getHotelListByCursor("abc", 10, false);
+        mockMvc.perform(MockMvcRequestBuilders.get(GET_HOTEL_LIST_BY_CURSOR))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void Should_StreamNdjson_When_ExportingHotelsOfCity() throws Exception {
+        var mvcResult = mockMvc.perform(MockMvcRequestBuilders.get(EXPORT_HOTELS_URL).param("city", CITY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+        verify(hotelExportService, times(1)).exportHotels(eq(CITY), any());
+    }
+
+    @Test
+    void Should_GzipExport_When_GzipIsRequested() throws Exception {
+        var mvcResult = mockMvc.perform(MockMvcRequestBuilders.get(EXPORT_HOTELS_URL).param("gzip", "true"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        verify(hotelExportService, times(1)).exportHotels(isNull(), any(GZIPOutputStream.class));
+    }
+
+    @Test
+    void Should_ReturnOk_When_SearchingHotels() throws Exception {
+        var hotelSearchResult = new HotelSearchResult(1,
+                List.of(new HotelSearchHit(HOTEL_ID, "Hilton", CITY, "Galle Rd.", 3f)), Map.of(CITY, 1L));
+        when(hotelSearchService.searchHotels("hil", null, 0, 20))
+                .thenReturn(new HotelSearchResponseDto("hil", 0, 20, hotelSearchResult));
+        mockMvc.perform(MockMvcRequestBuilders.get(SEARCH_HOTELS_URL).param("q", "hil"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hotels[0].id").value(HOTEL_ID))
+                .andExpect(jsonPath("$.data.cityFacets." + CITY).value(1));
+    }
+
+    @Test
+    void Should_ClampPageAndSize_When_SearchPageIsOutOfRange() throws Exception {
+        when(hotelSearchService.searchHotels("hil", null, 0, 250))
+                .thenReturn(new HotelSearchResponseDto("hil", 0, 250, new HotelSearchResult(0, List.of(), Map.of())));
+        mockMvc.perform(MockMvcRequestBuilders.get(SEARCH_HOTELS_URL).param("q", "hil")
+                        .param("page", "-3").param("size", "100000"))
+                .andExpect(status().isOk());
+        verify(hotelSearchService, times(1)).searchHotels("hil", null, 0, 250);
+    }
+
+    @Test
+    void Should_ReturnBadRequest_When_SearchQueryIsBlank() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(SEARCH_HOTELS_URL).param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void Should_ReturnOk_When_SuggestingHotels() throws Exception {
+        when(hotelSearchService.suggest("ka", 10)).thenReturn(new HotelSuggestionResponseDto("ka",
+                List.of(new HotelSuggestion("Kandy Hotel", 1)), List.of(new HotelSuggestion(CITY, 3))));
+        mockMvc.perform(MockMvcRequestBuilders.get(SUGGEST_HOTELS_URL).param("prefix", "ka"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.names[0].text").value("Kandy Hotel"))
+                .andExpect(jsonPath("$.data.cities[0].hotelCount").value(3));
+    }
+
+    @Test
+    void Should_ReturnBadRequest_When_SuggestionPrefixIsMissing() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(SUGGEST_HOTELS_URL))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void Should_ReturnOk_When_GettingHotelsNearby() throws Exception {
+        var hotelGeoHit = new HotelGeoHit(HOTEL_ID, "Hilton", CITY, "Galle Rd.", 6.58, 79.96, 0.4);
+        when(hotelSearchService.findNearby(6.58, 79.96, 5, 0, 20))
+                .thenReturn(new HotelGeoSearchResponseDto(0, 20, 1, List.of(hotelGeoHit)));
+        mockMvc.perform(MockMvcRequestBuilders.get(NEARBY_HOTELS_URL).param("lat", "6.58").param("lon", "79.96"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hotels[0].id").value(HOTEL_ID))
+                .andExpect(jsonPath("$.data.hotels[0].distanceKm").value(0.4));
+    }
+
+    @Test
+    void Should_ReturnBadRequest_When_NearbyRadiusIsTooLarge() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(NEARBY_HOTELS_URL).param("lat", "6.58").param("lon", "79.96")
+                        .param("radiusKm", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.INVALID_LOCATION.getCode()));
+    }
+
+    @Test
+    void Should_ReturnOk_When_GettingHotelsWithinBoxAcrossAntimeridian() throws Exception {
+        when(hotelSearchService.findWithinBox(-17.0, 179.5, -16.0, -179.5, 0, 20))
+                .thenReturn(new HotelGeoSearchResponseDto(0, 20, 0, List.of()));
+        mockMvc.perform(MockMvcRequestBuilders.get(WITHIN_BOX_HOTELS_URL).param("minLat", "-17")
+                        .param("minLon", "179.5").param("maxLat", "-16").param("maxLon", "-179.5"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void Should_ReturnBadRequest_When_BoxIsTooLarge() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(WITHIN_BOX_HOTELS_URL).param("minLat", "-90")
+                        .param("minLon", "-180").param("maxLat", "90").param("maxLon", "180"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.INVALID_LOCATION.getCode()));
+        mockMvc.perform(MockMvcRequestBuilders.get(WITHIN_BOX_HOTELS_URL).param("minLat", "6")
+                        .param("minLon", "80").param("maxLat", "7").param("maxLon", "79"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void Should_ReturnBadRequest_When_UpdatingAHotelWithoutRequiredFields() throws Exception {
         String url = UPDATE_HOTEL_URL.replace("{id}", HOTEL_ID);
         HotelCreateRequestDto hotelCreateRequestDto = getHotelCreateRequestDto();
         hotelCreateRequestDto.setName(null);
         mockMvc.perform(MockMvcRequestBuilders.put(url)
-                        .content(hotelCreateRequestDto.toLogJson())
+                        .content(hotelCreateRequestDto.toJson())
                         .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
@@ -197,16 +529,51 @@ class HotelControllerTest {
     @Test
     void Should_ReturnOk_When_GetHotelByCityRequested() throws Exception {
         String url = GET_HOTEL_BY_CITY_URL.replace("{city}", CITY);
-        when(hotelService.getHotelsByCity(CITY)).thenReturn(anyList());
+        var pageable = PageRequest.of(0, 50, Sort.by(Sort.Direction.ASC, "name", "id"));
+        when(hotelService.getHotelsByCity(CITY, pageable)).thenReturn(getHotelPage());
         mockMvc.perform(MockMvcRequestBuilders.get(url)
                         .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalItems").value(1))
+                .andExpect(jsonPath("$.data.hotelResponseDto[0].name").value("Hilton"));
+    }
+
+    @Test
+    void Should_SortHotelsByCity_When_SortIsRequested() throws Exception {
+        String url = GET_HOTEL_BY_CITY_URL.replace("{city}", CITY);
+        var pageable = PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "updatedAt", "id"));
+        when(hotelService.getHotelsByCity(CITY, pageable)).thenReturn(getHotelPage());
+        mockMvc.perform(MockMvcRequestBuilders.get(url).param("page", "2").param("size", "10")
+                        .param("sort", "updatedAt").param("direction", "desc"))
                 .andExpect(status().isOk());
+        verify(hotelService, times(1)).getHotelsByCity(CITY, pageable);
+    }
+
+    @Test
+    void Should_ReturnBadRequest_When_HotelsByCitySortIsInvalid() throws Exception {
+        String url = GET_HOTEL_BY_CITY_URL.replace("{city}", CITY);
+        mockMvc.perform(MockMvcRequestBuilders.get(url).param("sort", "telephone"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.INVALID_SORT.getCode()));
+    }
+
+    @Test
+    void Should_StreamHotelsByCity_When_NdjsonIsAccepted() throws Exception {
+        String url = GET_HOTEL_BY_CITY_URL.replace("{city}", CITY);
+        var mvcResult = mockMvc.perform(MockMvcRequestBuilders.get(url).accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+        verify(hotelExportService, times(1)).exportHotels(eq(CITY), any());
+        verify(hotelService, never()).getHotelsByCity(any(), any());
     }
 
     @Test
     void Should_ReturnInternalServerError_When_GetHotelByCityIsFailed() throws Exception {
         String url = GET_HOTEL_BY_CITY_URL.replace("{city}", CITY);
-        doThrow(new HotelServiceException("ERROR")).when(hotelService).getHotelsByCity(CITY);
+        doThrow(new HotelServiceException("ERROR")).when(hotelService).getHotelsByCity(eq(CITY), any());
         mockMvc.perform(MockMvcRequestBuilders.get(url))
                 .andExpect(status().isInternalServerError());
     }
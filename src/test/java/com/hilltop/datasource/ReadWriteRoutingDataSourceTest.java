@@ -0,0 +1,152 @@
+package com.hilltop.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private SwitchableDataSource replica;
+    private ReadWriteRoutingDataSource readWriteRoutingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransactionTemplate;
+    private TransactionTemplate readWriteTransactionTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        replica = new SwitchableDataSource(getDatabase(REPLICA));
+        readWriteRoutingDataSource = new ReadWriteRoutingDataSource(getDatabase(PRIMARY), List.of(replica), 1);
+        meterRegistry = new SimpleMeterRegistry();
+        readWriteRoutingDataSource.bindTo(meterRegistry);
+        var dataSource = new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        readWriteTransactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void Should_ReadFromReplica_When_TransactionIsReadOnly() {
+        assertEquals(REPLICA, readOnlyTransactionTemplate.execute(status -> readNode()));
+        assertEquals(1, meterRegistry.counter("hotel.datasource.connections", "target", "replica").count());
+    }
+
+    @Test
+    void Should_UsePrimary_When_TransactionIsReadWrite() {
+        assertEquals(PRIMARY, readWriteTransactionTemplate.execute(status -> readNode()));
+        assertEquals(PRIMARY, readNode());
+    }
+
+    @Test
+    void Should_ReadFromPrimary_When_PrimaryIsForced() {
+        assertEquals(PRIMARY, ReadWriteRoutingDataSource.onPrimary(() ->
+                readOnlyTransactionTemplate.execute(status -> readNode())));
+        assertEquals(REPLICA, readOnlyTransactionTemplate.execute(status -> readNode()));
+    }
+
+    @Test
+    void Should_EjectReplicaAndReadFromPrimary_When_ReplicaIsDown() {
+        replica.down = true;
+        assertEquals(PRIMARY, readOnlyTransactionTemplate.execute(status -> readNode()));
+        assertEquals(0, readWriteRoutingDataSource.getHealthyReplicaCount());
+        assertEquals(1, meterRegistry.counter("hotel.datasource.replica.ejections").count());
+
+        readWriteRoutingDataSource.checkReplicas();
+        assertEquals(PRIMARY, readOnlyTransactionTemplate.execute(status -> readNode()));
+
+        replica.down = false;
+        readWriteRoutingDataSource.checkReplicas();
+        assertEquals(1, readWriteRoutingDataSource.getHealthyReplicaCount());
+        assertEquals(REPLICA, readOnlyTransactionTemplate.execute(status -> readNode()));
+    }
+
+    @Test
+    void Should_UsePrimary_When_CredentialsAreGiven() throws SQLException {
+        var primaryConnections = meterRegistry.counter("hotel.datasource.connections", "target", "primary");
+        var connectionCount = primaryConnections.count();
+        try (var connection = readWriteRoutingDataSource.getConnection("sa", "");
+             var resultSet = connection.createStatement().executeQuery("SELECT NAME FROM NODE")) {
+            resultSet.next();
+            assertEquals(PRIMARY, resultSet.getString(1));
+        }
+        assertEquals(connectionCount + 1, primaryConnections.count());
+    }
+
+    @Test
+    void Should_KeepReplicaAndReadFromPrimary_When_ReplicaPoolIsExhausted() {
+        replica.busy = true;
+        assertEquals(PRIMARY, readOnlyTransactionTemplate.execute(status -> readNode()));
+        readWriteRoutingDataSource.checkReplicas();
+        assertEquals(1, readWriteRoutingDataSource.getHealthyReplicaCount());
+        assertEquals(0, meterRegistry.counter("hotel.datasource.replica.ejections").count());
+
+        replica.busy = false;
+        assertEquals(REPLICA, readOnlyTransactionTemplate.execute(status -> readNode()));
+    }
+
+    @Test
+    void Should_EjectReplica_When_PoolTimesOutOnConnectionFailure() {
+        replica.down = true;
+        replica.busy = true;
+        assertEquals(PRIMARY, readOnlyTransactionTemplate.execute(status -> readNode()));
+        assertEquals(0, readWriteRoutingDataSource.getHealthyReplicaCount());
+    }
+
+    private String readNode() {
+        return jdbcTemplate.queryForObject("SELECT NAME FROM NODE", String.class);
+    }
+
+    private static DataSource getDatabase(String name) {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1", "sa", "");
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE NODE (NAME VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO NODE VALUES (?)", name);
+        return dataSource;
+    }
+
+    /**
+     * Replica which can be taken down and brought back, or made busy so that its pool times out like Hikari's.
+     */
+    private static class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+        private volatile boolean busy;
+
+        SwitchableDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            var downException = down ? new SQLException("Replica is down.") : null;
+            if (busy) {
+                throw new SQLTransientConnectionException("replica - Connection is not available, request timed out.",
+                        null, downException);
+            }
+            if (down) {
+                throw downException;
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.hilltop.domain.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hilltop.cache.HotelJsonFragmentCache;
+import com.hilltop.domain.request.HotelCreateRequestDto;
+import com.hilltop.domain.response.HotelResponseDto;
+import com.hilltop.model.Hotel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class HotelJsonFragmentModuleTest {
+
+    private HotelJsonFragmentCache hotelJsonFragmentCache;
+    private ObjectMapper objectMapper;
+    private ObjectMapper plainObjectMapper;
+
+    @BeforeEach
+    void setUp() {
+        hotelJsonFragmentCache = new HotelJsonFragmentCache(DataSize.ofMegabytes(1));
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modules(new HotelJsonFragmentModule(hotelJsonFragmentCache)).build();
+        plainObjectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Test
+    void Should_WriteSameJson_When_HotelIsWrittenFromFragment() throws Exception {
+        var hotels = List.of(new HotelResponseDto(getHotel("Hilton")), new HotelResponseDto(getHotel("Kingsbury")));
+        var expected = plainObjectMapper.writeValueAsString(hotels);
+
+        assertEquals(expected, objectMapper.writeValueAsString(hotels));
+        assertEquals(expected, objectMapper.writeValueAsString(hotels));
+        assertEquals(2, hotelJsonFragmentCache.stats().hitCount());
+        assertFalse(expected.contains("updatedAt"));
+    }
+
+    @Test
+    void Should_WriteNewJson_When_HotelIsUpdated() throws Exception {
+        var hotel = getHotel("Hilton");
+        objectMapper.writeValueAsString(new HotelResponseDto(hotel));
+
+        var hotelResponseDto = new HotelResponseDto(hotel);
+        hotelResponseDto.setName("Hilton Colombo");
+        hotelResponseDto.setUpdatedAt(hotel.getUpdatedAt() + 1);
+
+        assertEquals(plainObjectMapper.writeValueAsString(hotelResponseDto),
+                objectMapper.writeValueAsString(hotelResponseDto));
+    }
+
+    @Test
+    void Should_SerializeAsUsual_When_OutputIsIndented() throws Exception {
+        var hotelResponseDto = new HotelResponseDto(getHotel("Hilton"));
+        objectMapper.writeValueAsString(hotelResponseDto);
+
+        assertEquals(plainObjectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValueAsString(hotelResponseDto),
+                objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValueAsString(hotelResponseDto));
+    }
+
+    private Hotel getHotel(String name) {
+        var hotelCreateRequestDto = new HotelCreateRequestDto();
+        hotelCreateRequestDto.setName(name);
+        hotelCreateRequestDto.setDescription("5-Star hotel with a \"sea view\" and a rooftop pool – ශ්‍රී ලංකා.");
+        hotelCreateRequestDto.setCity("Colombo");
+        hotelCreateRequestDto.setAddress("Galle Rd, Colombo.");
+        hotelCreateRequestDto.setTelephone("011215487");
+        hotelCreateRequestDto.setEmail("info@hilton.com");
+        hotelCreateRequestDto.setImageUrl(List.of("https://img/1.jpg"));
+        return new Hotel(hotelCreateRequestDto);
+    }
+}
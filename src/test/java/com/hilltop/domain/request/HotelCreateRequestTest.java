@@ -35,6 +35,26 @@ class HotelCreateRequestTest {
     }
 
 
+    @Test
+    void Should_MaskTelephoneAndEmail_When_ConvertingToLogJson() {
+        var logJson = getSampleHotelCreateRequest().toLogJson();
+        assertTrue(logJson.contains("\"telephone\":\"******5468\""));
+        assertTrue(logJson.contains("\"email\":\"e****@email.com\""));
+    }
+
+    @Test
+    void Should_KeepTelephoneAndEmail_When_ConvertingToJson() {
+        var json = getSampleHotelCreateRequest().toJson();
+        assertTrue(json.contains("\"telephone\":\"0342285468\""));
+        assertTrue(json.contains("\"email\":\"email@email.com\""));
+    }
+
+    @Test
+    void Should_ReturnLogJson_When_LazyLogJsonIsFormatted() {
+        var sampleHotelCreateRequest = getSampleHotelCreateRequest();
+        assertEquals(sampleHotelCreateRequest.toLogJson(), sampleHotelCreateRequest.toLazyLogJson().toString());
+    }
+
     private HotelCreateRequestDto getSampleHotelCreateRequest() {
         var hotelCreateRequestDto = new HotelCreateRequestDto();
         hotelCreateRequestDto.setName("New Hotel");
@@ -48,8 +68,8 @@ class HotelCreateRequestTest {
     }
     private String getSampleHotelCreateRequestToString(){
         return "{\"name\":\"New Hotel\",\"description\":\"4 Star hotel\",\"" +
-                "city\":\"Kalutara\",\"address\":\"Kalutara Rd, Kalutara\",\"" +
-                "telephone\":\"0342285468\",\"email\":\"email@email.com\",\"" +
+                "city\":\"Kalutara\",\"address\":\"Kalutara Rd, Kalutara\",\"latitude\":null,\"" +
+                "longitude\":null,\"telephone\":\"******5468\",\"email\":\"e****@email.com\",\"" +
                 "imageUrl\":[],\"requiredAvailable\":true}";
     }
 }
\ No newline at end of file
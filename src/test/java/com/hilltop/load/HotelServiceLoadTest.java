@@ -0,0 +1,413 @@
+package com.hilltop.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test of the hotel endpoints against an in-memory H2 database with Eureka disabled.
+ * Excluded from the default build, run with: mvn test -Pload-test
+ * <p>
+ * Requests are issued at a fixed rate (open model) and latency is measured from the intended start time,
+ * so a stalled server shows up in the percentiles instead of lowering the request rate.
+ * Settings are read from system properties: load.hotels, load.cities, load.rate, load.warmup, load.duration,
+ * load.threads and load.report. The prometheus scrape after the run is saved as load-test-metrics.txt.
+ * <p>
+ * To compare request execution modes, run once per mode with enough client threads not to cap concurrency, e.g.
+ * -Dhotel.server.execution-mode=virtual -Dload.threads=2000 -Dload.report=target/load-virtual.json.
+ * The report records the mode, the client side and server side peak of in flight requests and the percentiles.
+ * <p>
+ * Requests turned away by the admission limiter (503) are reported as rejected and do not fail the test;
+ * tune hotel.admission.* and spring.datasource.hikari.* to find the load a node admits without rejections.
+ */
+@Slf4j
+@Tag("load")
+@AutoConfigureMetrics
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:hotel_load;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "eureka.client.enabled=false",
+        "hotel.export.fetch-size=100",
+        "logging.level.com.hilltop=INFO",
+        "logging.file.path=target/log"
+})
+class HotelServiceLoadTest {
+
+    private static final String HOTEL_PATH = "/hotel-service/api/v1/hotel";
+    private static final String PROMETHEUS_PATH = "/hotel-service/actuator/prometheus";
+    private static final String METRICS_FILE = "load-test-metrics.txt";
+    private static final String APPLICATION_JSON = "application/json";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final int SEED_BATCH_SIZE = 5000;
+    private static final int PAGE_SIZE = 50;
+    private static final int HTTP_SERVICE_UNAVAILABLE = 503;
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final int hotelCount = Integer.getInteger("load.hotels", 10_000);
+    private final int cityCount = Integer.getInteger("load.cities", 25);
+    private final int requestRate = Integer.getInteger("load.rate", 500);
+    private final int warmupSeconds = Integer.getInteger("load.warmup", 10);
+    private final int durationSeconds = Integer.getInteger("load.duration", 60);
+    private final int threads = Integer.getInteger("load.threads", 64);
+    private final Path reportPath = Path.of(System.getProperty("load.report", "target/load-test-report.json"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> hotelIds = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Operation, OperationStats> operationStats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Value("${hotel.server.execution-mode}")
+    private String executionMode;
+
+    /**
+     * Request mix with the share of each operation in percent.
+     */
+    private enum Operation {
+        GET(50), LIST(15), BY_CITY(15), CREATE(10), UPDATE(7), DELETE(3);
+
+        private final int percent;
+
+        Operation(int percent) {
+            this.percent = percent;
+        }
+
+        private static Operation pick(int roll) {
+            int cumulative = 0;
+            for (var operation : values()) {
+                cumulative += operation.percent;
+                if (roll < cumulative) {
+                    return operation;
+                }
+            }
+            return GET;
+        }
+    }
+
+    /**
+     * Latency histogram and outcome counters of one operation.
+     */
+    private static class OperationStats {
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final AtomicLong clientErrors = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong serverErrors = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+
+        private long errors() {
+            return serverErrors.get() + failures.get();
+        }
+    }
+
+    @Test
+    void Should_ServeMixedWorkloadWithoutServerErrors_When_RunningAtTargetRate() throws Exception {
+        baseUrl = "http://localhost:" + port + HOTEL_PATH;
+        var executorService = Executors.newFixedThreadPool(threads);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+        for (var operation : Operation.values()) {
+            operationStats.put(operation, new OperationStats());
+        }
+        try {
+            seedHotels();
+            log.info("Load test warm up for {}s at {} req/s.", warmupSeconds, requestRate);
+            drive(executorService, warmupSeconds, false);
+            log.info("Load test run for {}s at {} req/s.", durationSeconds, requestRate);
+            maxInFlight.set(0);
+            getServerInFlightPeak();
+            var startedAt = Instant.now();
+            var elapsedNanos = drive(executorService, durationSeconds, true);
+            writeReport(startedAt, elapsedNanos);
+            writeMetrics();
+        } finally {
+            executorService.shutdownNow();
+        }
+        long serverErrors = operationStats.values().stream().mapToLong(OperationStats::errors).sum();
+        assertEquals(0, serverErrors, "Server errors or failed requests during load test, see " + reportPath);
+    }
+
+    /**
+     * This method creates the initial hotels through the bulk endpoint.
+     */
+    private void seedHotels() throws IOException, InterruptedException {
+        for (int from = 0; from < hotelCount; from += SEED_BATCH_SIZE) {
+            var body = new StringBuilder();
+            for (int i = from; i < Math.min(hotelCount, from + SEED_BATCH_SIZE); i++) {
+                body.append(objectMapper.writeValueAsString(getHotelJson(i))).append('\n');
+            }
+            var response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/bulk"))
+                    .header("Content-Type", APPLICATION_NDJSON)
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            for (var result : objectMapper.readTree(response.body()).path("data").path("results")) {
+                if (result.hasNonNull("id")) {
+                    hotelIds.add(result.get("id").asText());
+                }
+            }
+        }
+        log.info("Load test seeded {} hotels in {} cities.", hotelIds.size(), cityCount);
+    }
+
+    /**
+     * This method issues requests at the target rate for the given duration and waits for them to complete.
+     *
+     * @param executorService request workers
+     * @param seconds         duration
+     * @param record          true to record latencies and outcomes
+     * @return elapsed nanos
+     */
+    private long drive(ExecutorService executorService, int seconds, boolean record) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestRate;
+        long total = (long) requestRate * seconds;
+        var remaining = new CountDownLatch((int) total);
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            executorService.execute(() -> {
+                try {
+                    execute(Operation.pick(ThreadLocalRandom.current().nextInt(100)), intendedStart, record);
+                } finally {
+                    remaining.countDown();
+                }
+            });
+        }
+        remaining.await(seconds + 60L, TimeUnit.SECONDS);
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * This method executes one operation and records its latency from the intended start time.
+     *
+     * @param operation     operation
+     * @param intendedStart intended start time in nanos
+     * @param record        true to record latency and outcome
+     */
+    private void execute(Operation operation, long intendedStart, boolean record) {
+        var stats = operationStats.get(operation);
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            var response = httpClient.send(getRequest(operation), HttpResponse.BodyHandlers.ofString());
+            onResponse(operation, response);
+            if (record) {
+                stats.latency.recordValue(Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_NANOS));
+                if (response.statusCode() == HTTP_SERVICE_UNAVAILABLE) {
+                    stats.rejected.incrementAndGet();
+                } else if (response.statusCode() >= 500) {
+                    stats.serverErrors.incrementAndGet();
+                } else if (response.statusCode() >= 400) {
+                    stats.clientErrors.incrementAndGet();
+                }
+            }
+        } catch (IOException e) {
+            if (record) {
+                stats.failures.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * This method builds the http request of an operation.
+     *
+     * @param operation operation
+     * @return http request
+     */
+    private HttpRequest getRequest(Operation operation) throws IOException {
+        var random = ThreadLocalRandom.current();
+        switch (operation) {
+            case CREATE:
+                return HttpRequest.newBuilder(URI.create(baseUrl)).header("Content-Type", APPLICATION_JSON)
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                objectMapper.writeValueAsString(getHotelJson(random.nextInt(hotelCount))))).build();
+            case UPDATE:
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/" + randomHotelId()))
+                        .header("Content-Type", APPLICATION_JSON)
+                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                objectMapper.writeValueAsString(getHotelJson(random.nextInt(hotelCount))))).build();
+            case DELETE:
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/" + removeRandomHotelId())).DELETE().build();
+            case LIST:
+                int lastPage = Math.max(1, hotelIds.size() / PAGE_SIZE);
+                return HttpRequest.newBuilder(URI.create(baseUrl + "?page=" + random.nextInt(lastPage)
+                        + "&size=" + PAGE_SIZE)).GET().build();
+            case BY_CITY:
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/city/" + getCity(random.nextInt(cityCount))))
+                        .GET().build();
+            default:
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/" + randomHotelId())).GET().build();
+        }
+    }
+
+    /**
+     * This method keeps the known hotel ids in line with created hotels.
+     *
+     * @param operation operation
+     * @param response  response
+     */
+    private void onResponse(Operation operation, HttpResponse<String> response) throws IOException {
+        if (operation == Operation.CREATE && response.statusCode() == 201) {
+            hotelIds.add(objectMapper.readTree(response.body()).path("data").path("id").asText());
+        }
+    }
+
+    private String randomHotelId() {
+        synchronized (hotelIds) {
+            return hotelIds.isEmpty() ? "hid-none" : hotelIds.get(ThreadLocalRandom.current().nextInt(hotelIds.size()));
+        }
+    }
+
+    private String removeRandomHotelId() {
+        synchronized (hotelIds) {
+            return hotelIds.isEmpty() ? "hid-none"
+                    : hotelIds.remove(ThreadLocalRandom.current().nextInt(hotelIds.size()));
+        }
+    }
+
+    private ObjectNode getHotelJson(int index) {
+        var hotel = objectMapper.createObjectNode();
+        hotel.put("name", "Hotel " + index);
+        hotel.put("description", "3-Star hotel.");
+        hotel.put("city", getCity(index % cityCount));
+        hotel.put("address", index + " Galle Rd.");
+        hotel.put("telephone", "011215487");
+        hotel.put("email", "info@hotel" + index + ".com");
+        hotel.putArray("imageUrl").add("https://img/" + index + "/1.jpg").add("https://img/" + index + "/2.jpg");
+        return hotel;
+    }
+
+    private String getCity(int index) {
+        return "City" + index;
+    }
+
+    /**
+     * This method writes the machine readable load test report.
+     *
+     * @param startedAt    start of the measured run
+     * @param elapsedNanos duration of the measured run
+     */
+    private void writeReport(Instant startedAt, long elapsedNanos) throws IOException {
+        var report = objectMapper.createObjectNode();
+        report.put("startedAt", startedAt.toString());
+        var config = report.putObject("config");
+        config.put("hotels", hotelCount);
+        config.put("cities", cityCount);
+        config.put("targetRate", requestRate);
+        config.put("durationSeconds", durationSeconds);
+        config.put("threads", threads);
+        config.put("executionMode", executionMode);
+        config.put("javaVersion", Runtime.version().feature());
+        var overall = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long clientErrors = 0;
+        long rejected = 0;
+        long errors = 0;
+        var operations = report.putObject("operations");
+        for (var entry : operationStats.entrySet()) {
+            var stats = entry.getValue();
+            overall.add(stats.latency);
+            clientErrors += stats.clientErrors.get();
+            rejected += stats.rejected.get();
+            errors += stats.errors();
+            var operation = putLatency(operations.putObject(entry.getKey().name().toLowerCase()), stats.latency);
+            operation.put("clientErrors", stats.clientErrors.get());
+            operation.put("rejected", stats.rejected.get());
+            operation.put("errors", stats.errors());
+        }
+        var summary = putLatency(report.putObject("overall"), overall);
+        summary.put("throughput", overall.getTotalCount() / (elapsedNanos / 1e9));
+        summary.put("clientErrors", clientErrors);
+        summary.put("rejected", rejected);
+        summary.put("errors", errors);
+        summary.put("maxInFlight", maxInFlight.get());
+        summary.put("serverMaxInFlight", getServerInFlightPeak());
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        Files.writeString(reportPath, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report),
+                StandardCharsets.UTF_8);
+        log.info("Load test report: {}", summary);
+    }
+
+    /**
+     * This method saves the prometheus scrape next to the report, to see where request time was spent.
+     */
+    private void writeMetrics() throws IOException, InterruptedException {
+        var response = httpClient.send(HttpRequest.newBuilder(URI.create(
+                baseUrl.replace(HOTEL_PATH, PROMETHEUS_PATH))).GET().build(), HttpResponse.BodyHandlers.ofString());
+        var metricsPath = reportPath.resolveSibling(METRICS_FILE);
+        Files.writeString(metricsPath, response.body(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method reads the server side peak of in flight requests, which starts a new peak.
+     *
+     * @return peak in flight requests since the last read
+     */
+    private double getServerInFlightPeak() {
+        var gauge = meterRegistry.find("hotel.http.requests.in.flight.peak").gauge();
+        return gauge == null ? Double.NaN : gauge.value();
+    }
+
+    private ObjectNode putLatency(ObjectNode node, Histogram histogram) {
+        node.put("count", histogram.getTotalCount());
+        node.put("p50Ms", toMillis(histogram.getValueAtPercentile(50)));
+        node.put("p99Ms", toMillis(histogram.getValueAtPercentile(99)));
+        node.put("p999Ms", toMillis(histogram.getValueAtPercentile(99.9)));
+        node.put("maxMs", toMillis(histogram.getMaxValue()));
+        node.put("meanMs", histogram.getMean() / 1e6);
+        return node;
+    }
+
+    private double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,78 @@
+package com.hilltop.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountingAsyncAppenderTest {
+
+    private static final int QUEUE_SIZE = 4;
+    private static final int EVENT_COUNT = 20;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private LoggerContext loggerContext;
+    private CountingAsyncAppender countingAsyncAppender;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        var blockingAppender = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent eventObject) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blockingAppender.setContext(loggerContext);
+        blockingAppender.start();
+        countingAsyncAppender = new CountingAsyncAppender();
+        countingAsyncAppender.setContext(loggerContext);
+        countingAsyncAppender.setQueueSize(QUEUE_SIZE);
+        countingAsyncAppender.setDiscardingThreshold(0);
+        countingAsyncAppender.setNeverBlock(true);
+        countingAsyncAppender.addAppender(blockingAppender);
+        countingAsyncAppender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        countingAsyncAppender.stop();
+    }
+
+    @Test
+    void Should_CountDroppedEvents_When_QueueIsFull() {
+        var logger = loggerContext.getLogger(CountingAsyncAppenderTest.class);
+        logger.addAppender(countingAsyncAppender);
+        logger.setLevel(Level.INFO);
+
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            logger.error("Event {}", i);
+        }
+
+        assertTrue(countingAsyncAppender.getDroppedCount() >= EVENT_COUNT - QUEUE_SIZE - 1);
+    }
+
+    @Test
+    void Should_NotCountEvents_When_QueueHasCapacity() {
+        var logger = loggerContext.getLogger(CountingAsyncAppenderTest.class);
+        logger.addAppender(countingAsyncAppender);
+
+        logger.error("Event");
+
+        assertEquals(0, countingAsyncAppender.getDroppedCount());
+    }
+}
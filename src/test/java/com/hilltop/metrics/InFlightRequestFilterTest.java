@@ -0,0 +1,46 @@
+package com.hilltop.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InFlightRequestFilterTest {
+
+    private InFlightRequestFilter inFlightRequestFilter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        inFlightRequestFilter = new InFlightRequestFilter();
+        meterRegistry = new SimpleMeterRegistry();
+        inFlightRequestFilter.bindTo(meterRegistry);
+    }
+
+    @Test
+    void Should_CountRequestWhileHandling_When_RequestIsFiltered() throws Exception {
+        var inFlightDuringRequest = new AtomicReference<Double>();
+        inFlightRequestFilter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> inFlightDuringRequest.set(
+                        meterRegistry.get(InFlightRequestFilter.IN_FLIGHT_METRIC).gauge().value()));
+
+        assertEquals(1, inFlightDuringRequest.get());
+        assertEquals(0, meterRegistry.get(InFlightRequestFilter.IN_FLIGHT_METRIC).gauge().value());
+    }
+
+    @Test
+    void Should_ResetPeakToCurrentCount_When_PeakIsRead() throws Exception {
+        inFlightRequestFilter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> inFlightRequestFilter.doFilter(new MockHttpServletRequest(),
+                        new MockHttpServletResponse(), (innerRequest, innerResponse) -> {
+                        }));
+
+        assertEquals(2, meterRegistry.get(InFlightRequestFilter.IN_FLIGHT_PEAK_METRIC).gauge().value());
+        assertEquals(0, meterRegistry.get(InFlightRequestFilter.IN_FLIGHT_PEAK_METRIC).gauge().value());
+    }
+}
@@ -0,0 +1,53 @@
+package com.hilltop.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RequestMetricsInterceptorTest {
+
+    private static final String URI_TEMPLATE = "/api/v1/hotel/city/{city}";
+    private static final String SELECT = "select * from hotel";
+
+    private final JdbcStatementCounter jdbcStatementCounter = new JdbcStatementCounter();
+    private SimpleMeterRegistry meterRegistry;
+    private RequestMetricsInterceptor requestMetricsInterceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestMetricsInterceptor = new RequestMetricsInterceptor(jdbcStatementCounter, meterRegistry);
+        request = new MockHttpServletRequest("GET", "/api/v1/hotel/city/Colombo");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI_TEMPLATE);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void Should_RecordStatementCountByUriTemplate_When_RequestCompletes() {
+        requestMetricsInterceptor.preHandle(request, response, null);
+        jdbcStatementCounter.inspect(SELECT);
+        jdbcStatementCounter.inspect(SELECT);
+        requestMetricsInterceptor.afterCompletion(request, response, null, null);
+
+        var summary = meterRegistry.get(RequestMetricsInterceptor.JDBC_STATEMENTS_METRIC)
+                .tag("uri", URI_TEMPLATE).tag("method", "GET").summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+    }
+
+    @Test
+    void Should_NotCountStatements_When_OutsideOfARequest() {
+        jdbcStatementCounter.inspect(SELECT);
+        requestMetricsInterceptor.afterCompletion(request, response, null, null);
+
+        assertNull(meterRegistry.find(RequestMetricsInterceptor.JDBC_STATEMENTS_METRIC).summary());
+    }
+}
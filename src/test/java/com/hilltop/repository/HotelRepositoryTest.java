@@ -0,0 +1,162 @@
+package com.hilltop.repository;
+
+import com.hilltop.domain.request.HotelCreateRequestDto;
+import com.hilltop.domain.response.HotelListPageResponseDto;
+import com.hilltop.domain.response.HotelResponseDto;
+import com.hilltop.model.Hotel;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "hotel.export.fetch-size=100",
+        "logging.file.path=target/log"
+})
+class HotelRepositoryTest {
+
+    private static final int HOTEL_COUNT = 60;
+    private static final int PAGE_SIZE = 50;
+    private static final String CITY = "Colombo";
+    private static final String OTHER_CITY = "Kandy";
+
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < HOTEL_COUNT; i++) {
+            testEntityManager.persist(new Hotel(getHotelCreateRequestDto("Hotel " + i, i % 2 == 0 ? CITY : OTHER_CITY)));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void Should_LoadImageUrlsInBoundedStatements_When_ReadingAHotelPage() {
+        var hotelPage = hotelRepository.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("updatedAt").descending()));
+        var hotelListPageResponseDto = new HotelListPageResponseDto(hotelPage);
+
+        assertEquals(PAGE_SIZE, hotelListPageResponseDto.getHotelResponseDto().size());
+        assertEquals(2, hotelListPageResponseDto.getHotelResponseDto().get(0).getImageUrl().size());
+        // page select, count select and one batched image select
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Statement count was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void Should_LoadImageUrlsInBoundedStatements_When_ReadingHotelsByCity() {
+        var hotelPage = hotelRepository.findAllByCity(CITY, PageRequest.of(0, PAGE_SIZE, Sort.by("name", "id")));
+        List<HotelResponseDto> hotelsByCity = hotelPage.getContent().stream()
+                .map(HotelResponseDto::new).collect(Collectors.toList());
+
+        assertEquals(HOTEL_COUNT / 2, hotelsByCity.size());
+        assertEquals(HOTEL_COUNT / 2, hotelPage.getTotalElements());
+        assertTrue(hotelsByCity.stream().allMatch(hotel -> hotel.getImageUrl().size() == 2));
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Statement count was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void Should_LoadImageUrlsWithHotel_When_ReadingById() {
+        var id = hotelRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        testEntityManager.clear();
+        statistics.clear();
+
+        var hotel = new Hotel(hotelRepository.findById(id).orElseThrow());
+
+        assertEquals(2, hotel.getImageUrl().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void Should_LoadHotelsWithImageUrlsInOneStatement_When_ReadingByIds() {
+        var ids = hotelRepository.findAll(PageRequest.of(0, PAGE_SIZE)).getContent().stream()
+                .map(Hotel::getId).collect(Collectors.toList());
+        testEntityManager.clear();
+        statistics.clear();
+
+        var hotels = hotelRepository.findAllWithImageUrlByIdIn(List.of(ids.get(0), ids.get(1), "hid-missing"))
+                .stream().map(Hotel::new).collect(Collectors.toList());
+
+        assertEquals(2, hotels.size());
+        assertTrue(hotels.stream().allMatch(hotel -> hotel.getImageUrl().size() == 2));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void Should_InsertWithoutSelect_When_SavingNewHotel() {
+        hotelRepository.save(new Hotel(getHotelCreateRequestDto("New Hotel", CITY)));
+        testEntityManager.flush();
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void Should_StreamHotelImageRowsInIdOrder_When_ExportingCity() {
+        try (var rows = hotelRepository.streamAllForExport(CITY)) {
+            var exportRows = rows.collect(Collectors.toList());
+            assertEquals(HOTEL_COUNT, exportRows.size());
+            assertTrue(exportRows.stream().allMatch(row -> CITY.equals(row.getCity())));
+            assertEquals(exportRows.get(0).getId(), exportRows.get(1).getId());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void Should_StreamSearchableFieldsOfAllHotels_When_BuildingSearchIndex() {
+        try (var rows = hotelRepository.streamAllForSearch()) {
+            assertEquals(HOTEL_COUNT, rows.filter(row -> row.getAddress() != null && row.getLatitude() != null).count());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void Should_WalkAllHotels_When_ReadingByKeyset() {
+        var seenIds = new HashSet<String>();
+        var hotels = hotelRepository.findAllByOrderByUpdatedAtDescIdDesc(PageRequest.of(0, PAGE_SIZE));
+        while (!hotels.isEmpty()) {
+            hotels.forEach(hotel -> seenIds.add(hotel.getId()));
+            var last = hotels.get(hotels.size() - 1);
+            hotels = hotelRepository.findAllAfter(last.getUpdatedAt(), last.getId(), PageRequest.of(0, PAGE_SIZE));
+        }
+        assertEquals(HOTEL_COUNT, seenIds.size());
+    }
+
+    private HotelCreateRequestDto getHotelCreateRequestDto(String name, String city) {
+        HotelCreateRequestDto hotelCreateRequestDto = new HotelCreateRequestDto();
+        hotelCreateRequestDto.setName(name);
+        hotelCreateRequestDto.setDescription("3-Star hotel.");
+        hotelCreateRequestDto.setCity(city);
+        hotelCreateRequestDto.setTelephone("011215487");
+        hotelCreateRequestDto.setAddress("Galle Rd, Colombo.");
+        hotelCreateRequestDto.setLatitude(6.9271);
+        hotelCreateRequestDto.setLongitude(79.8612);
+        hotelCreateRequestDto.setEmail("info@hilton.com");
+        hotelCreateRequestDto.setImageUrl(List.of("https://img/1.jpg", "https://img/2.jpg"));
+        return hotelCreateRequestDto;
+    }
+}
@@ -0,0 +1,71 @@
+package com.hilltop.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompletionTrieTest {
+
+    private CompletionTrie completionTrie;
+
+    @BeforeEach
+    void setUp() {
+        completionTrie = new CompletionTrie();
+        completionTrie.add("Colombo", 5);
+        completionTrie.add("Colpetty", 2);
+        completionTrie.add("Col", 1);
+        completionTrie.add("Kandy", 3);
+    }
+
+    @Test
+    void Should_ReturnHeaviestCompletionsFirst_When_CompletingPrefix() {
+        assertEquals(List.of("Colombo", "Colpetty", "Col"), getTexts(completionTrie.complete("co", 10)));
+        assertEquals(List.of("Colombo", "Colpetty"), getTexts(completionTrie.complete("COL", 2)));
+        assertEquals(List.of("Colpetty"), getTexts(completionTrie.complete("colp", 10)));
+        assertTrue(completionTrie.complete("colx", 10).isEmpty());
+        assertTrue(completionTrie.complete("colombos", 10).isEmpty());
+    }
+
+    @Test
+    void Should_ReorderCompletions_When_WeightsChange() {
+        completionTrie.add("colpetty", 4);
+        completionTrie.add("Colombo", -1);
+
+        var completions = completionTrie.complete("col", 10);
+
+        assertEquals(List.of("Colpetty", "Colombo", "Col"), getTexts(completions));
+        assertEquals(6, completions.get(0).getHotelCount());
+    }
+
+    @Test
+    void Should_RemoveCompletion_When_WeightDropsToZero() {
+        completionTrie.add("Col", -1);
+        completionTrie.add("Colpetty", -2);
+        completionTrie.add("Unknown", -1);
+
+        assertEquals(2, completionTrie.size());
+        assertEquals(List.of("Colombo"), getTexts(completionTrie.complete("c", 10)));
+        assertEquals(List.of("Kandy"), getTexts(completionTrie.complete("kan", 10)));
+    }
+
+    @Test
+    void Should_ReleaseNodes_When_AllCompletionsAreRemoved() {
+        var emptyFootprint = new CompletionTrie().estimateFootprintBytes();
+        completionTrie.add("Colombo", -5);
+        completionTrie.add("Colpetty", -2);
+        completionTrie.add("Col", -1);
+        completionTrie.add("Kandy", -3);
+
+        assertEquals(0, completionTrie.size());
+        assertEquals(emptyFootprint, completionTrie.estimateFootprintBytes());
+    }
+
+    private List<String> getTexts(List<HotelSuggestion> suggestions) {
+        return suggestions.stream().map(HotelSuggestion::getText).collect(Collectors.toList());
+    }
+}
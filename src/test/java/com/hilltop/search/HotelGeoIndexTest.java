@@ -0,0 +1,126 @@
+package com.hilltop.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotelGeoIndexTest {
+
+    private static final double FORT_LATITUDE = 6.9344;
+    private static final double FORT_LONGITUDE = 79.8428;
+
+    private HotelGeoIndex hotelGeoIndex;
+
+    @BeforeEach
+    void setUp() {
+        hotelGeoIndex = new HotelGeoIndex();
+        hotelGeoIndex.put("hid-1", "Hilton Colombo", "Colombo", "Gardiner Mawatha", 6.9335, 79.8450);
+        hotelGeoIndex.put("hid-2", "Galle Face Hotel", "Colombo", "Galle Rd", 6.9197, 79.8474);
+        hotelGeoIndex.put("hid-3", "Mount Lavinia Hotel", "Dehiwala", "Hotel Rd", 6.8305, 79.8630);
+        hotelGeoIndex.put("hid-4", "Earl's Regency", "Kandy", "Tennekumbura", 7.2780, 80.6605);
+        hotelGeoIndex.put("hid-5", "No Location", "Colombo", "Galle Rd", null, null);
+    }
+
+    @Test
+    void Should_ReturnHotelsInRadiusNearestFirst_When_SearchingNearby() {
+        var hotelGeoResult = hotelGeoIndex.withinRadius(FORT_LATITUDE, FORT_LONGITUDE, 5, 0, 10);
+
+        assertEquals(2, hotelGeoResult.getTotalItems());
+        assertEquals(List.of("hid-1", "hid-2"), getIds(hotelGeoResult.getHits()));
+        assertTrue(hotelGeoResult.getHits().get(0).getDistanceKm() < 0.5);
+    }
+
+    @Test
+    void Should_PageHotels_When_SearchingNearby() {
+        var hotelGeoResult = hotelGeoIndex.withinRadius(FORT_LATITUDE, FORT_LONGITUDE, 20, 1, 1);
+
+        assertEquals(3, hotelGeoResult.getTotalItems());
+        assertEquals(List.of("hid-2"), getIds(hotelGeoResult.getHits()));
+    }
+
+    @Test
+    void Should_ReturnEmptyPage_When_OffsetIsBeyondHits() {
+        var hotelGeoResult = hotelGeoIndex.withinRadius(FORT_LATITUDE, FORT_LONGITUDE, 20, 400_000_000L * 250, 250);
+
+        assertEquals(3, hotelGeoResult.getTotalItems());
+        assertTrue(hotelGeoResult.getHits().isEmpty());
+        assertTrue(hotelGeoIndex.withinBox(6.8, 79.8, 7.0, 79.9, Long.MAX_VALUE, 250).getHits().isEmpty());
+    }
+
+    @Test
+    void Should_ReturnEveryHotelOnce_When_PagingThroughManyHits() {
+        for (int i = 0; i < 50; i++) {
+            hotelGeoIndex.put("hid-grid-" + i, "Grid Hotel", "Colombo", "Galle Rd", 6.90 + (i % 7) * 0.001,
+                    79.84 + (i % 5) * 0.001);
+        }
+        var allHits = hotelGeoIndex.withinRadius(FORT_LATITUDE, FORT_LONGITUDE, 20, 0, 250).getHits();
+        List<HotelGeoHit> pagedHits = new ArrayList<>();
+        for (int offset = 0; offset < allHits.size(); offset += 7) {
+            pagedHits.addAll(hotelGeoIndex.withinRadius(FORT_LATITUDE, FORT_LONGITUDE, 20, offset, 7).getHits());
+        }
+
+        assertEquals(53, allHits.size());
+        assertEquals(getIds(allHits), getIds(pagedHits));
+    }
+
+    @Test
+    void Should_ReturnFirstPage_When_OffsetIsNegative() {
+        var hotelGeoResult = hotelGeoIndex.withinRadius(FORT_LATITUDE, FORT_LONGITUDE, 20, -1, 1);
+
+        assertEquals(List.of("hid-1"), getIds(hotelGeoResult.getHits()));
+    }
+
+    @Test
+    void Should_ReturnNearestHotelsWithinMaxRadius_When_GettingNearest() {
+        assertEquals(List.of("hid-1", "hid-2", "hid-3"),
+                getIds(hotelGeoIndex.nearest(FORT_LATITUDE, FORT_LONGITUDE, 3, 100)));
+        assertEquals(List.of("hid-1", "hid-2", "hid-3"),
+                getIds(hotelGeoIndex.nearest(FORT_LATITUDE, FORT_LONGITUDE, 10, 50)));
+        assertEquals(4, hotelGeoIndex.nearest(FORT_LATITUDE, FORT_LONGITUDE, 10, 100).size());
+    }
+
+    @Test
+    void Should_ReturnHotelsInBox_When_SearchingWithinBox() {
+        var hotelGeoResult = hotelGeoIndex.withinBox(6.8, 79.8, 7.0, 79.9, 0, 10);
+
+        assertEquals(List.of("hid-2", "hid-1", "hid-3"), getIds(hotelGeoResult.getHits()));
+    }
+
+    @Test
+    void Should_FindHotelsAcrossAntimeridian_When_BoxWrapsAround() {
+        hotelGeoIndex.put("hid-6", "Fiji Resort", "Taveuni", "Matei", -16.70, 179.95);
+        hotelGeoIndex.put("hid-7", "Samoa Resort", "Apia", "Beach Rd", -16.75, -179.95);
+
+        assertEquals(List.of("hid-7", "hid-6"), getIds(hotelGeoIndex.withinBox(-17, 179.9, -16.5, -179.9, 0, 10)
+                .getHits()));
+        assertEquals(2, hotelGeoIndex.withinRadius(-16.72, 180, 20, 0, 10).getTotalItems());
+    }
+
+    @Test
+    void Should_MoveAndRemoveHotels_When_LocationChanges() {
+        hotelGeoIndex.put("hid-1", "Hilton Colombo", "Kandy", "Peradeniya Rd", 7.28, 80.66);
+        hotelGeoIndex.remove("hid-2");
+        hotelGeoIndex.put("hid-3", "Mount Lavinia Hotel", "Dehiwala", "Hotel Rd", null, null);
+
+        assertEquals(0, hotelGeoIndex.withinRadius(FORT_LATITUDE, FORT_LONGITUDE, 20, 0, 10).getTotalItems());
+        assertEquals(2, hotelGeoIndex.withinRadius(7.28, 80.66, 1, 0, 10).getTotalItems());
+        assertEquals(2, hotelGeoIndex.size());
+    }
+
+    @Test
+    void Should_MeasureGreatCircleDistance_When_PointsAreFarApart() {
+        // Colombo to Kandy is about 94 km in a straight line
+        var distanceKm = HotelGeoIndex.distanceKm(FORT_LATITUDE, FORT_LONGITUDE, 7.2906, 80.6337);
+        assertTrue(distanceKm > 90 && distanceKm < 100, "Distance was " + distanceKm);
+    }
+
+    private List<String> getIds(List<HotelGeoHit> hits) {
+        return hits.stream().map(HotelGeoHit::getId).collect(Collectors.toList());
+    }
+}
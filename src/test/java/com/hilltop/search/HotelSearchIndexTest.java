@@ -0,0 +1,134 @@
+package com.hilltop.search;
+
+import com.hilltop.model.HotelSearchRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotelSearchIndexTest {
+
+    private static final String COLOMBO = "Colombo";
+    private static final String KANDY = "Kandy";
+
+    private HotelSearchIndex hotelSearchIndex;
+    private HotelCompletionIndex hotelCompletionIndex;
+
+    @BeforeEach
+    void setUp() {
+        hotelCompletionIndex = new HotelCompletionIndex();
+        hotelSearchIndex = new HotelSearchIndex(hotelCompletionIndex, new HotelGeoIndex());
+        hotelSearchIndex.index(new HotelSearchRow("hid-1", "Hilton Colombo", "5-Star hotel by the sea.", COLOMBO,
+                "2 Sir Chittampalam A Gardiner Mawatha"));
+        hotelSearchIndex.index(new HotelSearchRow("hid-2", "Galle Face Hotel", "Colonial hotel.", COLOMBO,
+                "2 Galle Rd"));
+        hotelSearchIndex.index(new HotelSearchRow("hid-3", "Earl's Regency", "Hill country hotel.", KANDY,
+                "Tennekumbura"));
+    }
+
+    @Test
+    void Should_RankNameMatchesFirst_When_SearchingByPrefix() {
+        var hotelSearchResult = hotelSearchIndex.search("hil", null, 0, 10);
+
+        assertEquals(List.of("hid-1", "hid-3"), getIds(hotelSearchResult));
+        assertTrue(hotelSearchResult.getHits().get(0).getScore() > hotelSearchResult.getHits().get(1).getScore());
+    }
+
+    @Test
+    void Should_MatchAllTerms_When_QueryHasManyTerms() {
+        var hotelSearchResult = hotelSearchIndex.search("GALLE hotel", null, 0, 10);
+
+        assertEquals(List.of("hid-2"), getIds(hotelSearchResult));
+        assertEquals(1, hotelSearchResult.getTotalItems());
+    }
+
+    @Test
+    void Should_CountCityFacetsBeforeCityFilter_When_CityIsProvided() {
+        var hotelSearchResult = hotelSearchIndex.search("hotel", KANDY, 0, 10);
+
+        assertEquals(List.of("hid-3"), getIds(hotelSearchResult));
+        assertEquals(2L, hotelSearchResult.getCityFacets().get(COLOMBO));
+        assertEquals(1L, hotelSearchResult.getCityFacets().get(KANDY));
+    }
+
+    @Test
+    void Should_ReturnRequestedPage_When_OffsetIsProvided() {
+        var firstPage = hotelSearchIndex.search("hotel", null, 0, 2);
+        var secondPage = hotelSearchIndex.search("hotel", null, 2, 2);
+
+        assertEquals(3, secondPage.getTotalItems());
+        assertEquals(2, firstPage.getHits().size());
+        assertEquals(1, secondPage.getHits().size());
+        assertTrue(!getIds(firstPage).contains(secondPage.getHits().get(0).getId()));
+    }
+
+    @Test
+    void Should_ReturnEmptyPage_When_OffsetIsBeyondMatches() {
+        var hotelSearchResult = hotelSearchIndex.search("hotel", null, 400_000_000L * 250, 250);
+
+        assertEquals(3, hotelSearchResult.getTotalItems());
+        assertTrue(hotelSearchResult.getHits().isEmpty());
+    }
+
+    @Test
+    void Should_ReturnFirstPage_When_OffsetIsNegative() {
+        assertEquals(2, hotelSearchIndex.search("hotel", null, -10, 2).getHits().size());
+    }
+
+    @Test
+    void Should_ReplaceTerms_When_HotelIsUpdated() {
+        hotelSearchIndex.index(new HotelSearchRow("hid-1", "Cinnamon Grand", "City hotel.", COLOMBO, "Galle Rd"));
+
+        assertEquals(List.of("hid-1"), getIds(hotelSearchIndex.search("cinnamon", null, 0, 10)));
+        assertEquals(0, hotelSearchIndex.search("hilton", null, 0, 10).getTotalItems());
+    }
+
+    @Test
+    void Should_NotReturnHotel_When_HotelIsRemoved() {
+        hotelSearchIndex.remove("hid-2");
+
+        assertEquals(0, hotelSearchIndex.search("galle face", null, 0, 10).getTotalItems());
+        assertEquals(2, hotelSearchIndex.size());
+    }
+
+    @Test
+    void Should_KeepHotelsWrittenWhileLoading_When_LoadedRowsAreOlder() {
+        hotelSearchIndex.beginLoad();
+        hotelSearchIndex.remove("hid-2");
+        hotelSearchIndex.index(new HotelSearchRow("hid-1", "Cinnamon Grand", "City hotel.", COLOMBO, "Galle Rd"));
+        hotelSearchIndex.loadBatch(List.of(
+                new HotelSearchRow("hid-1", "Hilton Colombo", "5-Star hotel.", COLOMBO, "Gardiner Mawatha"),
+                new HotelSearchRow("hid-2", "Galle Face Hotel", "Colonial hotel.", COLOMBO, "2 Galle Rd")));
+        hotelSearchIndex.endLoad();
+
+        assertTrue(hotelSearchIndex.isLoaded());
+        assertEquals(List.of("hid-1"), getIds(hotelSearchIndex.search("cinnamon", null, 0, 10)));
+        assertEquals(0, hotelSearchIndex.search("face", null, 0, 10).getTotalItems());
+    }
+
+    @Test
+    void Should_UpdateCompletions_When_HotelsAreRenamedMovedAndRemoved() {
+        assertEquals(List.of(COLOMBO), getTexts(hotelCompletionIndex.completeCities("co", 10)));
+        assertEquals(2, hotelCompletionIndex.completeCities("co", 10).get(0).getHotelCount());
+
+        hotelSearchIndex.index(new HotelSearchRow("hid-1", "Hill Top", "Hotel.", KANDY, "Peradeniya Rd"));
+        hotelSearchIndex.remove("hid-2");
+
+        assertTrue(hotelCompletionIndex.completeCities("co", 10).isEmpty());
+        assertEquals(List.of("Hill Top"), getTexts(hotelCompletionIndex.completeNames("hi", 10)));
+        assertEquals(2, hotelCompletionIndex.completeCities("kan", 10).get(0).getHotelCount());
+        assertTrue(hotelCompletionIndex.completeNames("galle", 10).isEmpty());
+    }
+
+    private List<String> getTexts(List<HotelSuggestion> suggestions) {
+        return suggestions.stream().map(HotelSuggestion::getText).collect(Collectors.toList());
+    }
+
+    private List<String> getIds(HotelSearchResult hotelSearchResult) {
+        return hotelSearchResult.getHits().stream().map(HotelSearchHit::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,133 @@
+package com.hilltop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hilltop.cache.CityIndex;
+import com.hilltop.cache.ClusterCacheInvalidator;
+import com.hilltop.domain.response.HotelBulkItemResultDto;
+import com.hilltop.model.Hotel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+class HotelBulkImportServiceTest {
+    private static final String HOTEL = "{\"name\":\"Hilton\",\"city\":\"Colombo\",\"telephone\":\"011215487\"," +
+            "\"address\":\"Galle Rd, Colombo.\"}";
+    private static final String HOTEL_WITHOUT_NAME = "{\"city\":\"Colombo\",\"telephone\":\"011215487\"," +
+            "\"address\":\"Galle Rd, Colombo.\"}";
+
+    private HotelBulkImportService hotelBulkImportService;
+    private CityIndex cityIndex;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+    @Mock
+    private HotelSearchService hotelSearchService;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        cityIndex = new CityIndex();
+        cityIndex.load(new ArrayList<>(), cityIndex.getVersion());
+        hotelBulkImportService = new HotelBulkImportService(new ObjectMapper(), entityManager,
+                new TransactionTemplate(transactionManager), cityIndex, clusterCacheInvalidator,
+                hotelSearchService, 2);
+    }
+
+    @Test
+    void Should_CreateHotelsInBatches_When_NdjsonIsProvided() {
+        var body = String.join("\n", HOTEL, HOTEL, HOTEL_WITHOUT_NAME, HOTEL);
+        var hotelBulkCreateResponseDto = hotelBulkImportService.importHotels(toInputStream(body));
+
+        assertEquals(3, hotelBulkCreateResponseDto.getCreatedCount());
+        assertEquals(1, hotelBulkCreateResponseDto.getFailedCount());
+        verify(entityManager, times(3)).persist(any(Hotel.class));
+        verify(entityManager, times(2)).flush();
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3, cityIndex.getHotelCount("Colombo"));
+        verify(hotelSearchService, times(3)).index(any(Hotel.class));
+        verify(clusterCacheInvalidator, times(1)).publishCitiesChanged();
+    }
+
+    @Test
+    void Should_ReturnResultPerItem_When_JsonArrayIsProvided() {
+        var body = "[" + HOTEL + "," + HOTEL_WITHOUT_NAME + "]";
+        var results = hotelBulkImportService.importHotels(toInputStream(body)).getResults();
+
+        assertEquals(2, results.size());
+        var failed = results.stream().filter(result -> result.getIndex() == 1).findFirst().orElseThrow();
+        assertEquals(4001, failed.getStatusCode());
+        assertNull(failed.getId());
+        var created = results.stream().filter(result -> result.getIndex() == 0).findFirst().orElseThrow();
+        assertEquals(2000, created.getStatusCode());
+        assertNotNull(created.getId());
+    }
+
+    @Test
+    void Should_ContinueWithNextItem_When_ItemCannotBeMapped() {
+        var body = String.join("\n", HOTEL, "{\"imageUrl\":{\"a\":1}}", HOTEL);
+        var hotelBulkCreateResponseDto = hotelBulkImportService.importHotels(toInputStream(body));
+
+        assertEquals(2, hotelBulkCreateResponseDto.getCreatedCount());
+        assertEquals(4003, hotelBulkCreateResponseDto.getResults().stream()
+                .filter(result -> result.getIndex() == 1).findFirst().orElseThrow().getStatusCode());
+    }
+
+    @Test
+    void Should_FailAllItemsOfBatch_When_BatchInsertFails() {
+        doThrow(new PersistenceException("ERROR")).when(entityManager).flush();
+        var hotelBulkCreateResponseDto = hotelBulkImportService.importHotels(toInputStream(HOTEL + "\n" + HOTEL));
+
+        assertEquals(0, hotelBulkCreateResponseDto.getCreatedCount());
+        assertEquals(2, hotelBulkCreateResponseDto.getFailedCount());
+        verify(clusterCacheInvalidator, never()).publishCitiesChanged();
+    }
+
+    @Test
+    void Should_FailOnlyBadItem_When_BatchInsertFails() {
+        doThrow(new PersistenceException("ERROR")).doNothing().doThrow(new PersistenceException("ERROR"))
+                .doNothing().when(entityManager).flush();
+        var body = String.join("\n", HOTEL, HOTEL_WITHOUT_NAME, HOTEL, HOTEL);
+        var hotelBulkCreateResponseDto = hotelBulkImportService.importHotels(toInputStream(body));
+
+        assertEquals(2, hotelBulkCreateResponseDto.getCreatedCount());
+        assertEquals(List.of(2000, 4001, 5000, 2000), hotelBulkCreateResponseDto.getResults().stream()
+                .map(HotelBulkItemResultDto::getStatusCode).collect(Collectors.toList()));
+        assertEquals(List.of(0, 1, 2, 3), hotelBulkCreateResponseDto.getResults().stream()
+                .map(HotelBulkItemResultDto::getIndex).collect(Collectors.toList()));
+        assertEquals(2, cityIndex.getHotelCount("Colombo"));
+    }
+
+    @Test
+    void Should_NotRetryItems_When_TransactionCannotBeStarted() {
+        when(transactionManager.getTransaction(any())).thenThrow(new CannotCreateTransactionException("ERROR"));
+        var hotelBulkCreateResponseDto = hotelBulkImportService.importHotels(toInputStream(HOTEL + "\n" + HOTEL));
+
+        assertEquals(2, hotelBulkCreateResponseDto.getFailedCount());
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    private ByteArrayInputStream toInputStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
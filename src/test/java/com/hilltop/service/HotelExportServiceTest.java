@@ -0,0 +1,68 @@
+package com.hilltop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hilltop.exception.HotelServiceException;
+import com.hilltop.model.HotelExportRow;
+import com.hilltop.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+class HotelExportServiceTest {
+    private static final String CITY = "Colombo";
+
+    private HotelExportService hotelExportService;
+    @Mock
+    private HotelRepository hotelRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        hotelExportService = new HotelExportService(hotelRepository, transactionManager, new ObjectMapper());
+    }
+
+    @Test
+    void Should_WriteOneLinePerHotel_When_ExportingHotels() {
+        when(hotelRepository.streamAllForExport(CITY)).thenReturn(Stream.of(
+                getHotelExportRow("hid-1", "https://img/1.jpg"),
+                getHotelExportRow("hid-1", "https://img/2.jpg"),
+                getHotelExportRow("hid-2", null)));
+        var outputStream = new ByteArrayOutputStream();
+
+        assertEquals(2, hotelExportService.exportHotels(CITY, outputStream));
+
+        var lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"imageUrl\":[\"https://img/1.jpg\",\"https://img/2.jpg\"]"));
+        assertTrue(lines[1].contains("\"id\":\"hid-2\""));
+        assertTrue(lines[1].contains("\"imageUrl\":[]"));
+    }
+
+    @Test
+    void Should_ThrowHotelServiceException_When_ExportQueryFails() {
+        when(hotelRepository.streamAllForExport(CITY)).thenThrow(new DataAccessException("ERROR") {
+        });
+        var outputStream = new ByteArrayOutputStream();
+        var hotelServiceException = assertThrows(HotelServiceException.class, () ->
+                hotelExportService.exportHotels(CITY, outputStream));
+        assertEquals("Exporting hotels from database was failed.", hotelServiceException.getMessage());
+    }
+
+    private HotelExportRow getHotelExportRow(String id, String imageUrl) {
+        return new HotelExportRow(id, "Hilton", "3-Star hotel.", CITY, 6.93, 79.85, "011215487", "info@hilton.com", imageUrl);
+    }
+}
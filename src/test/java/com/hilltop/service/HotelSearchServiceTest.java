@@ -0,0 +1,90 @@
+package com.hilltop.service;
+
+import com.hilltop.domain.request.HotelCreateRequestDto;
+import com.hilltop.model.Hotel;
+import com.hilltop.model.HotelSearchRow;
+import com.hilltop.repository.HotelRepository;
+import com.hilltop.search.HotelCompletionIndex;
+import com.hilltop.search.HotelGeoIndex;
+import com.hilltop.search.HotelSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+class HotelSearchServiceTest {
+
+    private HotelSearchService hotelSearchService;
+    private HotelSearchIndex hotelSearchIndex;
+    private HotelCompletionIndex hotelCompletionIndex;
+    private HotelGeoIndex hotelGeoIndex;
+    @Mock
+    private HotelRepository hotelRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        hotelCompletionIndex = new HotelCompletionIndex();
+        hotelGeoIndex = new HotelGeoIndex();
+        hotelSearchIndex = new HotelSearchIndex(hotelCompletionIndex, hotelGeoIndex);
+        hotelSearchService = new HotelSearchService(hotelSearchIndex, hotelCompletionIndex, hotelGeoIndex,
+                hotelRepository, transactionManager, true);
+    }
+
+    @Test
+    void Should_IndexAllHotels_When_IndexIsLoaded() {
+        when(hotelRepository.streamAllForSearch()).thenReturn(Stream.of(
+                new HotelSearchRow("hid-1", "Hilton", "3-Star hotel.", "Colombo", "Galle Rd", 6.93, 79.84),
+                new HotelSearchRow("hid-2", "Cinnamon", "City hotel.", "Kandy", "Temple Rd", 7.29, 80.63)));
+
+        hotelSearchService.loadIndex();
+
+        assertTrue(hotelSearchIndex.isLoaded());
+        var hotelSearchResponseDto = hotelSearchService.searchHotels("hotel", null, 0, 10);
+        assertEquals(2, hotelSearchResponseDto.getTotalItems());
+        assertEquals(1, hotelSearchResponseDto.getTotalPages());
+        var hotelSuggestionResponseDto = hotelSearchService.suggest("k", 5);
+        assertEquals("Kandy", hotelSuggestionResponseDto.getCities().get(0).getText());
+        assertTrue(hotelSuggestionResponseDto.getNames().isEmpty());
+        var hotelGeoSearchResponseDto = hotelSearchService.findNearby(6.92, 79.86, 10, 0, 10);
+        assertEquals(1, hotelGeoSearchResponseDto.getTotalItems());
+        assertEquals("hid-1", hotelGeoSearchResponseDto.getHotels().get(0).getId());
+    }
+
+    @Test
+    void Should_RemoveMissingHotels_When_RefreshingChangedHotels() {
+        var hotel = getHotel();
+        hotelSearchService.index(hotel);
+        hotelSearchIndex.index(new HotelSearchRow("hid-deleted", "Hilton", null, "Colombo", "Galle Rd"));
+        when(hotelRepository.findAllById(List.of(hotel.getId(), "hid-deleted"))).thenReturn(List.of(hotel));
+
+        hotelSearchService.refresh(List.of(hotel.getId(), "hid-deleted"));
+
+        var hotelSearchResponseDto = hotelSearchService.searchHotels("hilton", null, 0, 10);
+        assertEquals(1, hotelSearchResponseDto.getTotalItems());
+        assertEquals(hotel.getId(), hotelSearchResponseDto.getHotels().get(0).getId());
+    }
+
+    private Hotel getHotel() {
+        var hotelCreateRequestDto = new HotelCreateRequestDto();
+        hotelCreateRequestDto.setName("Hilton");
+        hotelCreateRequestDto.setDescription("3-Star hotel.");
+        hotelCreateRequestDto.setCity("Colombo");
+        hotelCreateRequestDto.setAddress("Galle Rd, Colombo.");
+        hotelCreateRequestDto.setTelephone("011215487");
+        hotelCreateRequestDto.setEmail("info@hilton.com");
+        hotelCreateRequestDto.setImageUrl(new ArrayList<>());
+        return new Hotel(hotelCreateRequestDto);
+    }
+}
@@ -1,8 +1,17 @@
 package com.hilltop.service;
 
+import com.hilltop.cache.CityIndex;
+import com.hilltop.cache.ClusterCacheInvalidator;
+import com.hilltop.cache.HotelCache;
+import com.hilltop.cache.SingleFlight;
+import com.hilltop.datasource.ReadWriteRoutingDataSource;
+import com.hilltop.datasource.RecentWriteTracker;
+import com.hilltop.domain.HotelCursor;
 import com.hilltop.domain.request.HotelCreateRequestDto;
 import com.hilltop.exception.HotelServiceException;
+import com.hilltop.exception.InvalidCursorException;
 import com.hilltop.exception.InvalidHotelException;
+import com.hilltop.model.CityHotelCount;
 import com.hilltop.model.Hotel;
 import com.hilltop.repository.HotelRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -10,16 +19,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -27,13 +42,26 @@ class HotelServiceTest {
     private static final String HOTEL_ID = "hid-92be0c67-3810-47c2-9e28-615f81efad6a";
 
     private HotelService hotelService;
+    private HotelCache hotelCache;
+    private CityIndex cityIndex;
     @Mock
     private HotelRepository hotelRepository;
+    @Mock
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+    @Mock
+    private HotelSearchService hotelSearchService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private SingleFlight singleFlight;
 
     @BeforeEach
     void setUp() {
         initMocks(this);
-        hotelService = new HotelService(hotelRepository);
+        hotelCache = new HotelCache(100, Duration.ofMinutes(1));
+        singleFlight = new SingleFlight(List.of("hotel", "city"), Duration.ofSeconds(5), Duration.ofSeconds(1));
+        cityIndex = new CityIndex();
+        hotelService = new HotelService(hotelRepository, cityIndex, hotelCache, clusterCacheInvalidator,
+                hotelSearchService, new RecentWriteTracker(Duration.ofMinutes(1)), singleFlight, transactionManager);
     }
 
     @AfterEach
@@ -45,6 +73,7 @@ class HotelServiceTest {
         var hotelCreateRequestDto = getHotelCreateRequestDto();
         hotelService.saveHotel(hotelCreateRequestDto);
         verify(hotelRepository, times(1)).save(any(Hotel.class));
+        verify(hotelSearchService, times(1)).index(any(Hotel.class));
     }
 
     @Test
@@ -62,7 +91,70 @@ class HotelServiceTest {
         var hotelCreateRequestDto = getHotelCreateRequestDto();
         var hotel = getHotel(hotelCreateRequestDto);
         when(hotelRepository.findById(HOTEL_ID)).thenReturn(Optional.of(hotel));
-        assertEquals(hotel, hotelService.getHotelById(HOTEL_ID));
+        assertEquals(hotel.getId(), hotelService.getHotelById(HOTEL_ID).getId());
+    }
+
+    @Test
+    void Should_ReturnCachedHotel_When_HotelIsReadTwice() {
+        var hotel = getHotel(getHotelCreateRequestDto());
+        when(hotelRepository.findById(HOTEL_ID)).thenReturn(Optional.of(hotel));
+        hotelService.getHotelById(HOTEL_ID);
+        assertEquals(hotel.getName(), hotelService.getHotelById(HOTEL_ID).getName());
+        verify(hotelRepository, times(1)).findById(HOTEL_ID);
+        assertEquals(1, hotelCache.stats().hitCount());
+        assertEquals(1, hotelCache.stats().missCount());
+    }
+
+    @Test
+    void Should_ReadOnlyCacheMissesInOneQuery_When_GettingHotelsByIds() {
+        var cachedHotel = getHotel(getHotelCreateRequestDto());
+        hotelCache.put(cachedHotel);
+        var hotel = new Hotel(getHotelCreateRequestDto());
+        when(hotelRepository.findAllWithImageUrlByIdIn(List.of(hotel.getId(), "hid-missing")))
+                .thenReturn(List.of(hotel));
+
+        var hotels = hotelService.getHotelsByIds(List.of(hotel.getId(), HOTEL_ID, "hid-missing"));
+
+        assertEquals(List.of(hotel.getId(), HOTEL_ID), new ArrayList<>(hotels.keySet()));
+        verify(hotelRepository, times(1)).findAllWithImageUrlByIdIn(any());
+        verify(hotelRepository, never()).findById(any());
+        hotelService.getHotelsByIds(List.of(hotel.getId(), HOTEL_ID));
+        verifyNoMoreInteractions(hotelRepository);
+    }
+
+    @Test
+    void Should_ThrowException_When_GettingHotelsByIdsIsFailed() {
+        when(hotelRepository.findAllWithImageUrlByIdIn(any())).thenThrow(new DataAccessException("ERROR") {
+        });
+        HotelServiceException hotelServiceException = assertThrows(HotelServiceException.class, () ->
+                hotelService.getHotelsByIds(List.of(HOTEL_ID)));
+        assertEquals("Reading hotels by ids from database was failed.", hotelServiceException.getMessage());
+    }
+
+    @Test
+    void Should_ReadHotelFromPrimary_When_HotelWasJustUpdated() {
+        var hotelCreateRequestDto = getHotelCreateRequestDto();
+        var hotel = getHotel(hotelCreateRequestDto);
+        when(hotelRepository.findById(HOTEL_ID)).thenReturn(Optional.of(hotel));
+        when(hotelRepository.save(any(Hotel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        hotelService.updateHotel(HOTEL_ID, hotelCreateRequestDto);
+        when(hotelRepository.findById(HOTEL_ID)).thenAnswer(invocation -> {
+            assertTrue(ReadWriteRoutingDataSource.isPrimaryForced());
+            return Optional.of(hotel);
+        });
+        assertEquals(hotel.getName(), hotelService.getHotelById(HOTEL_ID).getName());
+        assertFalse(ReadWriteRoutingDataSource.isPrimaryForced());
+    }
+
+    @Test
+    void Should_InvalidateCachedHotel_When_HotelIsUpdated() {
+        var hotelCreateRequestDto = getHotelCreateRequestDto();
+        when(hotelRepository.findById(HOTEL_ID)).thenReturn(Optional.of(getHotel(hotelCreateRequestDto)));
+        hotelService.getHotelById(HOTEL_ID);
+        hotelCreateRequestDto.setName("Hilton Colombo");
+        hotelService.updateHotel(HOTEL_ID, hotelCreateRequestDto);
+        when(hotelRepository.findById(HOTEL_ID)).thenReturn(Optional.of(getHotel(hotelCreateRequestDto)));
+        assertEquals("Hilton Colombo", hotelService.getHotelById(HOTEL_ID).getName());
     }
 
     @Test
@@ -88,19 +180,77 @@ class HotelServiceTest {
         when(hotelRepository.findById(HOTEL_ID)).thenReturn(Optional.of(hotel));
         hotelService.deleteHotel(HOTEL_ID);
         verify(hotelRepository, times(1)).delete(hotel);
+        verify(hotelSearchService, times(1)).remove(HOTEL_ID);
+        verify(clusterCacheInvalidator, times(1)).publish(HOTEL_ID, true);
     }
 
     @Test
     void Should_ReturnHotelCityList() {
-        HotelCreateRequestDto hotelCreateRequestDto = getHotelCreateRequestDto();
-        Hotel hotel = getHotel(hotelCreateRequestDto);
-        List<Hotel> hotelList = new ArrayList<>();
-        hotelList.add(hotel);
-        when(hotelRepository.findAll()).thenReturn(hotelList);
+        when(hotelRepository.findCityHotelCounts()).thenReturn(List.of(getCityHotelCount("Colombo", 2)));
         hotelService.getAllCities();
         assertEquals(1, (hotelService.getAllCities()).size());
+        verify(hotelRepository, times(1)).findCityHotelCounts();
+        verify(hotelRepository, never()).findAll();
+    }
+
+    @Test
+    void Should_UpdateCityList_When_HotelsAreSavedAndDeleted() {
+        when(hotelRepository.findCityHotelCounts()).thenReturn(new ArrayList<>());
+        hotelService.getAllCities();
+        var hotelCreateRequestDto = getHotelCreateRequestDto();
+        hotelService.saveHotel(hotelCreateRequestDto);
+        assertEquals(List.of("Colombo"), hotelService.getAllCities());
+
+        var hotel = getHotel(hotelCreateRequestDto);
+        when(hotelRepository.findById(HOTEL_ID)).thenReturn(Optional.of(hotel));
+        hotelService.deleteHotel(HOTEL_ID);
+        assertEquals(0, hotelService.getAllCities().size());
     }
 
+    @Test
+    void Should_ReloadCityList_When_HotelIsSavedWhileLoadingCities() {
+        var hotelCreateRequestDto = getHotelCreateRequestDto();
+        when(hotelRepository.findCityHotelCounts()).thenAnswer(invocation -> {
+            hotelService.saveHotel(hotelCreateRequestDto);
+            return new ArrayList<>();
+        }).thenReturn(List.of(getCityHotelCount("Colombo", 1)));
+
+        assertEquals(0, hotelService.getAllCities().size());
+        assertEquals(List.of("Colombo"), hotelService.getAllCities());
+        assertEquals(List.of("Colombo"), hotelService.getAllCities());
+        verify(hotelRepository, times(2)).findCityHotelCounts();
+    }
+
+    @Test
+    void Should_NotCountHotelTwice_When_CitiesAreLoadedBetweenCommitAndIncrement() {
+        var hotelCreateRequestDto = getHotelCreateRequestDto();
+        when(hotelRepository.findCityHotelCounts()).thenReturn(List.of(getCityHotelCount("Colombo", 1)));
+        when(hotelRepository.save(any(Hotel.class))).thenAnswer(invocation -> {
+            assertEquals(List.of("Colombo"), hotelService.getAllCities());
+            return invocation.getArgument(0);
+        });
+
+        hotelService.saveHotel(hotelCreateRequestDto);
+        assertFalse(cityIndex.isLoaded());
+        assertEquals(List.of("Colombo"), hotelService.getAllCities());
+        assertEquals(1, cityIndex.getHotelCount("Colombo"));
+    }
+
+    @Test
+    void Should_NotLoadCities_When_VersionIsReadBeforeWriteAndCountedAfterCommit() {
+        var hotelCreateRequestDto = getHotelCreateRequestDto();
+        when(hotelRepository.findCityHotelCounts()).thenAnswer(invocation -> {
+            cityIndex.beginWrite();
+            cityIndex.increment("Colombo");
+            return List.of(getCityHotelCount("Colombo", 1));
+        }).thenReturn(List.of(getCityHotelCount("Colombo", 1)));
+
+        hotelService.getAllCities();
+        assertFalse(cityIndex.isLoaded());
+        cityIndex.endWrite();
+        hotelService.getAllCities();
+        assertEquals(1, cityIndex.getHotelCount("Colombo"));
+    }
 
     @Test
     void Should_ThrowException_When_DeletingHotelById() {
@@ -117,7 +267,7 @@ class HotelServiceTest {
 
     @Test
     void Should_ThrowHotelServiceException_When_InvalidHotelIdProvided() {
-        when(hotelRepository.findAll()).thenThrow(new DataAccessException("ERROR") {
+        when(hotelRepository.findCityHotelCounts()).thenThrow(new DataAccessException("ERROR") {
         });
         HotelServiceException hotelServiceException = assertThrows(HotelServiceException.class, () ->
                 hotelService.getAllCities());
@@ -132,16 +282,17 @@ class HotelServiceTest {
         hotel.setId(HOTEL_ID);
         List<Hotel> hotelList = new ArrayList<>();
         hotelList.add(hotel);
-        when(hotelRepository.findAllByCity(any())).thenReturn(hotelList);
-        assertEquals(HOTEL_ID, hotelService.getHotelsByCity(any()).get(0).getId());
+        var pageable = PageRequest.of(0, 10, Sort.by("name"));
+        when(hotelRepository.findAllByCity("Kalutara", pageable)).thenReturn(new PageImpl<>(hotelList));
+        assertEquals(HOTEL_ID, hotelService.getHotelsByCity("Kalutara", pageable).getContent().get(0).getId());
     }
 
     @Test
     void Should_ThrowHotelServiceException_When_GetHotelsByCity() {
-        when(hotelRepository.findAllByCity(any())).thenThrow(new DataAccessException("ERROR") {
+        when(hotelRepository.findAllByCity(any(), any())).thenThrow(new DataAccessException("ERROR") {
         });
         HotelServiceException hotelServiceException = assertThrows(HotelServiceException.class, () ->
-                hotelService.getHotelsByCity("Kalutara"));
+                hotelService.getHotelsByCity("Kalutara", PageRequest.of(0, 10)));
         assertEquals("Getting hotels by city from database was failed.", hotelServiceException.getMessage());
     }
 
@@ -164,6 +315,36 @@ class HotelServiceTest {
     }
 
 
+    @Test
+    void Should_ReturnNextCursor_When_MoreHotelsAreAvailable() {
+        var first = getHotel(getHotelCreateRequestDto());
+        var second = getHotel(getHotelCreateRequestDto());
+        second.setId("hid-2");
+        when(hotelRepository.findAllByOrderByUpdatedAtDescIdDesc(PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second));
+        var hotelListCursorResponseDto = hotelService.getHotelListByCursor(null, 1, false);
+        assertEquals(1, hotelListCursorResponseDto.getHotelResponseDto().size());
+        assertEquals(new HotelCursor(first).encode(), hotelListCursorResponseDto.getNextCursor());
+        assertNull(hotelListCursorResponseDto.getTotalItems());
+        verify(hotelRepository, never()).count();
+    }
+
+    @Test
+    void Should_ReadHotelsAfterCursor_When_CursorIsProvided() {
+        var hotel = getHotel(getHotelCreateRequestDto());
+        var cursor = new HotelCursor(hotel).encode();
+        when(hotelRepository.count()).thenReturn(1L);
+        var hotelListCursorResponseDto = hotelService.getHotelListByCursor(cursor, 10, true);
+        verify(hotelRepository, times(1)).findAllAfter(hotel.getUpdatedAt(), HOTEL_ID, PageRequest.of(0, 11));
+        assertNull(hotelListCursorResponseDto.getNextCursor());
+        assertEquals(1L, hotelListCursorResponseDto.getTotalItems());
+    }
+
+    @Test
+    void Should_ThrowInvalidCursorException_When_InvalidCursorProvided() {
+        assertThrows(InvalidCursorException.class, () -> hotelService.getHotelListByCursor("not-a-cursor", 10, false));
+    }
+
     @Test
     void Should_UpdateHotel() {
         var hotelCreateRequestDto = getHotelCreateRequestDto();
@@ -198,6 +379,20 @@ class HotelServiceTest {
         return hotelCreateRequestDto;
     }
 
+    private CityHotelCount getCityHotelCount(String city, long hotelCount) {
+        return new CityHotelCount() {
+            @Override
+            public String getCity() {
+                return city;
+            }
+
+            @Override
+            public long getHotelCount() {
+                return hotelCount;
+            }
+        };
+    }
+
     private Hotel getHotel(HotelCreateRequestDto hotelCreateRequestDto) {
         var hotel = new Hotel(hotelCreateRequestDto);
         hotel.setId(HOTEL_ID);